@@ -0,0 +1,94 @@
+package company;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.time.Year;
+
+final class VectorBillingKernel implements BillingKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public int charge(long[] premiums, long[] balances, long[] frequencies, long[] dueYears, long[] dueMonths, long[] dueDays,
+                      long[] dueNanos, long[] chargedPeriods, int size, long nowMonth, long nowDay, long nowNano) {
+        int bound = SPECIES.loopBound(size);
+        int charged = 0;
+
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector year = LongVector.fromArray(SPECIES, dueYears, i);
+            LongVector month = LongVector.fromArray(SPECIES, dueMonths, i);
+            LongVector day = LongVector.fromArray(SPECIES, dueDays, i);
+            LongVector nano = LongVector.fromArray(SPECIES, dueNanos, i);
+            VectorMask<Long> due = due(year, month, day, nano, nowMonth, nowDay, nowNano);
+            if (!due.anyTrue()) {
+                continue;
+            }
+
+            LongVector premium = LongVector.fromArray(SPECIES, premiums, i);
+            LongVector frequency = LongVector.fromArray(SPECIES, frequencies, i);
+            LongVector balance = LongVector.fromArray(SPECIES, balances, i);
+            LongVector periods = LongVector.zero(SPECIES);
+
+            do {
+                LongVector sum = balance.add(premium);
+                VectorMask<Long> overflow = balance.lanewise(VectorOperators.XOR, sum)
+                        .and(premium.lanewise(VectorOperators.XOR, sum))
+                        .compare(VectorOperators.LT, 0)
+                        .and(due);
+                if (overflow.anyTrue()) {
+                    throw new ArithmeticException("long overflow");
+                }
+                balance = balance.blend(sum, due);
+
+                month = month.add(frequency, due);
+                VectorMask<Long> nextYear = month.compare(VectorOperators.GT, 12);
+                month = month.sub(12, nextYear);
+                year = year.add(1, nextYear);
+
+                VectorMask<Long> february = month.compare(VectorOperators.EQ, 2);
+                LongVector length = month.add(month.lanewise(VectorOperators.ASHR, 3)).and(1).add(30).blend(29, february);
+                day = day.min(length);
+                VectorMask<Long> leapDay = february.and(day.compare(VectorOperators.EQ, 29));
+                if (leapDay.anyTrue()) {
+                    day = clampLeapDays(year, day, leapDay);
+                }
+
+                periods = periods.add(1, due);
+                due = due(year, month, day, nano, nowMonth, nowDay, nowNano);
+            } while (due.anyTrue());
+
+            balance.intoArray(balances, i);
+            year.intoArray(dueYears, i);
+            month.intoArray(dueMonths, i);
+            day.intoArray(dueDays, i);
+            LongVector.fromArray(SPECIES, chargedPeriods, i).add(periods).intoArray(chargedPeriods, i);
+            charged += periods.compare(VectorOperators.GT, 0).trueCount();
+        }
+
+        return charged + ScalarBillingKernel.charge(premiums, balances, frequencies, dueYears, dueMonths, dueDays, dueNanos,
+                chargedPeriods, bound, size, nowMonth, nowDay, nowNano);
+    }
+
+    private static VectorMask<Long> due(LongVector year, LongVector month, LongVector day, LongVector nano, long nowMonth, long nowDay, long nowNano) {
+        LongVector dueMonth = year.lanewise(VectorOperators.LSHL, 3).add(year.lanewise(VectorOperators.LSHL, 2)).add(month);
+        VectorMask<Long> sameMonth = dueMonth.compare(VectorOperators.EQ, nowMonth);
+        VectorMask<Long> sameDay = sameMonth.and(day.compare(VectorOperators.EQ, nowDay));
+        return dueMonth.compare(VectorOperators.LT, nowMonth)
+                .or(sameMonth.and(day.compare(VectorOperators.LT, nowDay)))
+                .or(sameDay.and(nano.compare(VectorOperators.LE, nowNano)));
+    }
+
+    private static LongVector clampLeapDays(LongVector year, LongVector day, VectorMask<Long> leapDay) {
+        long[] years = year.toArray();
+        long[] days = day.toArray();
+        boolean[] lanes = leapDay.toArray();
+        for (int lane = 0; lane < lanes.length; lane++) {
+            if (lanes[lane] && !Year.isLeap(years[lane])) {
+                days[lane] = 28;
+            }
+        }
+        return LongVector.fromArray(SPECIES, days, 0);
+    }
+}
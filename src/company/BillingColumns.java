@@ -0,0 +1,248 @@
+package company;
+
+import contracts.AbstractContract;
+import contracts.MasterVehicleContract;
+import contracts.SingleVehicleContract;
+import payment.ContractPaymentData;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BillingColumns {
+    private static final BillingKernel SCALAR_KERNEL = new ScalarBillingKernel();
+    private static final BillingKernel VECTOR_KERNEL = loadVectorKernel();
+
+    private final Map<AbstractContract, Integer> rows;
+    private AbstractContract[] contracts;
+    private long[] premiums;
+    private long[] balances;
+    private long[] frequencies;
+    private long[] dueYears;
+    private long[] dueMonths;
+    private long[] dueDays;
+    private long[] dueNanos;
+    private long[] chargedPeriods;
+    private int size;
+    private boolean vectorized;
+    private boolean writingBack;
+
+    public BillingColumns(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        int capacity = Math.max(initialCapacity, 16);
+        this.rows = new HashMap<>();
+        this.contracts = new AbstractContract[capacity];
+        this.premiums = new long[capacity];
+        this.balances = new long[capacity];
+        this.frequencies = new long[capacity];
+        this.dueYears = new long[capacity];
+        this.dueMonths = new long[capacity];
+        this.dueDays = new long[capacity];
+        this.dueNanos = new long[capacity];
+        this.chargedPeriods = new long[capacity];
+        this.vectorized = false;
+    }
+
+    private static BillingKernel loadVectorKernel() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            return (BillingKernel) Class.forName("company.VectorBillingKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR_KERNEL != null;
+    }
+
+    public synchronized boolean isVectorized() {
+        return vectorized;
+    }
+
+    public synchronized void setVectorized(boolean vectorized) {
+        if (vectorized && VECTOR_KERNEL == null) {
+            throw new IllegalStateException("Vector API is not available");
+        }
+        this.vectorized = vectorized;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isTracked(AbstractContract contract) {
+        return rows.containsKey(contract);
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            contracts[i].getContractPaymentData().setChangeListener(null);
+        }
+        Arrays.fill(contracts, 0, size, null);
+        rows.clear();
+        size = 0;
+    }
+
+    public synchronized void capture(Iterable<AbstractContract> portfolio) {
+        if (portfolio == null) {
+            throw new IllegalArgumentException("Portfolio cannot be null");
+        }
+        clear();
+        for (AbstractContract contract : portfolio) {
+            track(contract);
+        }
+    }
+
+    public synchronized void track(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (contract instanceof MasterVehicleContract) {
+            for (SingleVehicleContract childContract : ((MasterVehicleContract) contract).getChildContracts()) {
+                track(childContract);
+            }
+            return;
+        }
+        if (!contract.isActive() || contract.getContractPaymentData() == null) {
+            untrack(contract);
+            return;
+        }
+
+        Integer row = rows.get(contract);
+        if (row == null) {
+            if (size == contracts.length) {
+                grow();
+            }
+            row = size++;
+            rows.put(contract, row);
+            contract.getContractPaymentData().setChangeListener(() -> resync(contract));
+        }
+        write(row, contract);
+    }
+
+    private synchronized void resync(AbstractContract contract) {
+        if (!writingBack && rows.containsKey(contract)) {
+            track(contract);
+        }
+    }
+
+    public synchronized void untrack(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (contract instanceof MasterVehicleContract) {
+            for (SingleVehicleContract childContract : ((MasterVehicleContract) contract).getChildContracts()) {
+                untrack(childContract);
+            }
+            return;
+        }
+
+        Integer row = rows.remove(contract);
+        if (row == null) {
+            return;
+        }
+        contract.getContractPaymentData().setChangeListener(null);
+        int last = --size;
+        if (row != last) {
+            contracts[row] = contracts[last];
+            premiums[row] = premiums[last];
+            balances[row] = balances[last];
+            frequencies[row] = frequencies[last];
+            dueYears[row] = dueYears[last];
+            dueMonths[row] = dueMonths[last];
+            dueDays[row] = dueDays[last];
+            dueNanos[row] = dueNanos[last];
+            chargedPeriods[row] = chargedPeriods[last];
+            rows.put(contracts[row], row);
+        }
+        contracts[last] = null;
+    }
+
+    private void write(int row, AbstractContract contract) {
+        ContractPaymentData paymentData = contract.getContractPaymentData();
+        LocalDateTime due = paymentData.getSettledNextPaymentTime();
+
+        contracts[row] = contract;
+        premiums[row] = paymentData.getPremium();
+        balances[row] = paymentData.getSettledOutstandingBalance();
+        frequencies[row] = paymentData.getPremiumPaymentFrequency().getValueInMonths();
+        dueYears[row] = due.getYear();
+        dueMonths[row] = due.getMonthValue();
+        dueDays[row] = due.getDayOfMonth();
+        dueNanos[row] = due.toLocalTime().toNanoOfDay();
+        chargedPeriods[row] = 0;
+    }
+
+    private void grow() {
+        int capacity = contracts.length * 2;
+        contracts = Arrays.copyOf(contracts, capacity);
+        premiums = Arrays.copyOf(premiums, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        frequencies = Arrays.copyOf(frequencies, capacity);
+        dueYears = Arrays.copyOf(dueYears, capacity);
+        dueMonths = Arrays.copyOf(dueMonths, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        dueNanos = Arrays.copyOf(dueNanos, capacity);
+        chargedPeriods = Arrays.copyOf(chargedPeriods, capacity);
+    }
+
+    public int bill(LocalDateTime now, InsuranceCompany insurer) {
+        if (now == null) {
+            throw new IllegalArgumentException("Current time cannot be null");
+        }
+        List<AbstractContract> charged;
+        synchronized (this) {
+            charge(now);
+            charged = writeBack();
+        }
+        if (insurer != null) {
+            for (AbstractContract contract : charged) {
+                insurer.getSummaryCache().invalidate(contract.getPolicyHolder());
+                insurer.getDunningEngine().refresh(contract);
+            }
+        }
+        return charged.size();
+    }
+
+    private void charge(LocalDateTime now) {
+        BillingKernel kernel = vectorized ? VECTOR_KERNEL : SCALAR_KERNEL;
+        try {
+            kernel.charge(premiums, balances, frequencies, dueYears, dueMonths, dueDays, dueNanos, chargedPeriods, size,
+                    now.getYear() * 12L + now.getMonthValue(), now.getDayOfMonth(), now.toLocalTime().toNanoOfDay());
+        } catch (ArithmeticException e) {
+            for (int i = 0; i < size; i++) {
+                write(i, contracts[i]);
+            }
+            throw e;
+        }
+    }
+
+    private List<AbstractContract> writeBack() {
+        List<AbstractContract> charged = new ArrayList<>();
+        writingBack = true;
+        try {
+            for (int i = 0; i < size; i++) {
+                if (chargedPeriods[i] == 0) {
+                    continue;
+                }
+                contracts[i].getContractPaymentData().setSettledState(balances[i],
+                        LocalDateTime.of(LocalDate.of((int) dueYears[i], (int) dueMonths[i], (int) dueDays[i]), LocalTime.ofNanoOfDay(dueNanos[i])));
+                chargedPeriods[i] = 0;
+                charged.add(contracts[i]);
+            }
+        } finally {
+            writingBack = false;
+        }
+        return charged;
+    }
+}
@@ -0,0 +1,6 @@
+package company;
+
+interface BillingKernel {
+    int charge(long[] premiums, long[] balances, long[] frequencies, long[] dueYears, long[] dueMonths, long[] dueDays,
+               long[] dueNanos, long[] chargedPeriods, int size, long nowMonth, long nowDay, long nowNano);
+}
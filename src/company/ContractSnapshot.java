@@ -0,0 +1,130 @@
+package company;
+
+import contracts.AbstractContract;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public final class ContractSnapshot extends AbstractCollection<AbstractContract> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final ContractSnapshot EMPTY = new ContractSnapshot(new Object[WIDTH], 0, 0, 0);
+
+    private final Object[] root;
+    private final int shift;
+    private final int length;
+    private final int size;
+
+    private ContractSnapshot(Object[] root, int shift, int length, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.length = length;
+        this.size = size;
+    }
+
+    int nextSlot() {
+        return length;
+    }
+
+    boolean isSparse() {
+        return (long) (length - size) * 2 > length;
+    }
+
+    ContractSnapshot append(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (length == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Snapshot capacity exceeded");
+        }
+
+        Object[] newRoot = root;
+        int newShift = shift;
+        if ((long) length >= (1L << (shift + BITS))) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newShift += BITS;
+        }
+
+        return new ContractSnapshot(assoc(newRoot, newShift, length, contract), newShift, length + 1, size + 1);
+    }
+
+    ContractSnapshot without(int slot) {
+        if (slot < 0 || slot >= length) {
+            throw new IndexOutOfBoundsException("Slot is out of range");
+        }
+        if (slotAt(slot) == null) {
+            return this;
+        }
+        return new ContractSnapshot(assoc(root, shift, slot, null), shift, length, size - 1);
+    }
+
+    private AbstractContract slotAt(int slot) {
+        return (AbstractContract) leafFor(slot)[slot & MASK];
+    }
+
+    private Object[] leafFor(int slot) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(slot >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static Object[] assoc(Object[] node, int shift, int slot, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        if (shift == 0) {
+            copy[slot & MASK] = value;
+        } else {
+            int child = (slot >>> shift) & MASK;
+            copy[child] = assoc((Object[]) copy[child], shift - BITS, slot, value);
+        }
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<AbstractContract> iterator() {
+        return new Iterator<AbstractContract>() {
+            private int slot = 0;
+            private Object[] leaf = null;
+            private AbstractContract next = advance();
+
+            private AbstractContract advance() {
+                while (slot < length) {
+                    if (leaf == null || (slot & MASK) == 0) {
+                        leaf = leafFor(slot);
+                    }
+                    Object value = leaf[slot & MASK];
+                    slot++;
+                    if (value != null) {
+                        return (AbstractContract) value;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public AbstractContract next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                AbstractContract current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package company;
+
+public enum DelinquencyBucket {
+    UNDER_30(0),
+    DAYS_30(30),
+    DAYS_60(60),
+    DAYS_90_PLUS(90);
+
+    private final int minimumDaysOverdue;
+
+    DelinquencyBucket(int minimumDaysOverdue) {
+        this.minimumDaysOverdue = minimumDaysOverdue;
+    }
+
+    public int getMinimumDaysOverdue() {
+        return minimumDaysOverdue;
+    }
+
+    public DelinquencyBucket next() {
+        int ordinal = ordinal() + 1;
+        return ordinal < values().length ? values()[ordinal] : null;
+    }
+}
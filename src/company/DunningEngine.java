@@ -0,0 +1,223 @@
+package company;
+
+import contracts.AbstractContract;
+import contracts.MasterVehicleContract;
+import payment.ContractPaymentData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class DunningEngine {
+    private final InsuranceCompany insurer;
+    private final Map<AbstractContract, LocalDateTime> overdueSince;
+    private final TreeMap<LocalDateTime, Set<AbstractContract>> byOverdueSince;
+    private final Map<AbstractContract, LocalDateTime> watchedFrom;
+    private final TreeMap<LocalDateTime, Set<AbstractContract>> byWatchedFrom;
+    private DunningPolicy policy;
+
+    public DunningEngine(InsuranceCompany insurer) {
+        if (insurer == null) {
+            throw new IllegalArgumentException("Insurance Company cannot be null");
+        }
+        this.insurer = insurer;
+        this.overdueSince = new HashMap<>();
+        this.byOverdueSince = new TreeMap<>();
+        this.watchedFrom = new HashMap<>();
+        this.byWatchedFrom = new TreeMap<>();
+    }
+
+    public synchronized DunningPolicy getPolicy() {
+        return policy;
+    }
+
+    public synchronized void setPolicy(DunningPolicy policy) {
+        this.policy = policy;
+    }
+
+    public synchronized void refresh(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (contract instanceof MasterVehicleContract) {
+            for (AbstractContract childContract : ((MasterVehicleContract) contract).getChildContracts()) {
+                refresh(childContract);
+            }
+            return;
+        }
+
+        ContractPaymentData paymentData = contract.getContractPaymentData();
+        if (!contract.isActive() || paymentData == null) {
+            untrack(contract);
+            return;
+        }
+        if (paymentData.getOutstandingBalance() <= 0) {
+            untrack(contract);
+            if (insurer.isLazyAccrual()) {
+                watch(contract, paymentData);
+            }
+            return;
+        }
+        unwatch(contract);
+
+        long unpaidPeriods = (paymentData.getOutstandingBalance() + paymentData.getPremium() - 1) / paymentData.getPremium();
+        LocalDateTime since = paymentData.getNextPaymentTime()
+                .minusMonths(unpaidPeriods * paymentData.getPremiumPaymentFrequency().getValueInMonths());
+
+        LocalDateTime previous = overdueSince.put(contract, since);
+        if (since.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeFromIndex(byOverdueSince, previous, contract);
+        }
+        byOverdueSince.computeIfAbsent(since, k -> new LinkedHashSet<>()).add(contract);
+    }
+
+    private void watch(AbstractContract contract, ContractPaymentData paymentData) {
+        long paidPeriods = -paymentData.getOutstandingBalance() / paymentData.getPremium();
+        LocalDateTime dueTime = paymentData.getNextPaymentTime();
+        for (long i = 0; i < paidPeriods; i++) {
+            dueTime = dueTime.plusMonths(paymentData.getPremiumPaymentFrequency().getValueInMonths());
+        }
+
+        LocalDateTime previous = watchedFrom.put(contract, dueTime);
+        if (dueTime.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeFromIndex(byWatchedFrom, previous, contract);
+        }
+        byWatchedFrom.computeIfAbsent(dueTime, k -> new LinkedHashSet<>()).add(contract);
+    }
+
+    private void unwatch(AbstractContract contract) {
+        LocalDateTime previous = watchedFrom.remove(contract);
+        if (previous != null) {
+            removeFromIndex(byWatchedFrom, previous, contract);
+        }
+    }
+
+    public synchronized int refreshDue() {
+        NavigableMap<LocalDateTime, Set<AbstractContract>> due = byWatchedFrom.headMap(insurer.getCurrentTime(), true);
+        List<AbstractContract> contracts = collect(due.values());
+        for (AbstractContract contract : contracts) {
+            refresh(contract);
+        }
+        return contracts.size();
+    }
+
+    public synchronized void unwatchAll() {
+        watchedFrom.clear();
+        byWatchedFrom.clear();
+    }
+
+    public synchronized void untrack(AbstractContract contract) {
+        LocalDateTime previous = overdueSince.remove(contract);
+        if (previous != null) {
+            removeFromIndex(byOverdueSince, previous, contract);
+        }
+        unwatch(contract);
+    }
+
+    private static void removeFromIndex(Map<LocalDateTime, Set<AbstractContract>> index, LocalDateTime time, AbstractContract contract) {
+        Set<AbstractContract> contracts = index.get(time);
+        if (contracts != null) {
+            contracts.remove(contract);
+            if (contracts.isEmpty()) {
+                index.remove(time);
+            }
+        }
+    }
+
+    public synchronized boolean isDelinquent(AbstractContract contract) {
+        return overdueSince.containsKey(contract);
+    }
+
+    public synchronized LocalDateTime getOverdueSince(AbstractContract contract) {
+        return overdueSince.get(contract);
+    }
+
+    public synchronized DelinquencyBucket getBucket(AbstractContract contract) {
+        LocalDateTime since = overdueSince.get(contract);
+        if (since == null) {
+            return null;
+        }
+        DelinquencyBucket bucket = DelinquencyBucket.UNDER_30;
+        for (DelinquencyBucket candidate : DelinquencyBucket.values()) {
+            if (!since.isAfter(cutoff(candidate))) {
+                bucket = candidate;
+            }
+        }
+        return bucket;
+    }
+
+    public synchronized int getDelinquentCount() {
+        return overdueSince.size();
+    }
+
+    public synchronized int countDelinquents(DelinquencyBucket bucket) {
+        int count = 0;
+        for (Set<AbstractContract> contracts : range(bucket).values()) {
+            count += contracts.size();
+        }
+        return count;
+    }
+
+    public synchronized List<AbstractContract> getDelinquents(DelinquencyBucket bucket) {
+        return collect(range(bucket).values());
+    }
+
+    public synchronized List<AbstractContract> getDelinquentsFrom(DelinquencyBucket bucket) {
+        if (bucket == null) {
+            throw new IllegalArgumentException("Bucket cannot be null");
+        }
+        return collect(byOverdueSince.headMap(cutoff(bucket), true).values());
+    }
+
+    public synchronized int enforcePolicy() {
+        if (policy == null) {
+            return 0;
+        }
+
+        int deactivated = 0;
+        for (AbstractContract contract : getDelinquentsFrom(policy.getDeactivateFrom())) {
+            if (contract.getContractPaymentData().getOutstandingBalance() >= policy.getMinimumBalance()) {
+                contract.setInactive();
+                untrack(contract);
+                deactivated++;
+            }
+        }
+        return deactivated;
+    }
+
+    private NavigableMap<LocalDateTime, Set<AbstractContract>> range(DelinquencyBucket bucket) {
+        if (bucket == null) {
+            throw new IllegalArgumentException("Bucket cannot be null");
+        }
+        DelinquencyBucket next = bucket.next();
+        if (next == null) {
+            return byOverdueSince.headMap(cutoff(bucket), true);
+        }
+        return byOverdueSince.subMap(cutoff(next), false, cutoff(bucket), true);
+    }
+
+    private LocalDateTime cutoff(DelinquencyBucket bucket) {
+        return insurer.getCurrentTime().minusDays(bucket.getMinimumDaysOverdue());
+    }
+
+    private static List<AbstractContract> collect(Collection<Set<AbstractContract>> groups) {
+        List<AbstractContract> result = new ArrayList<>();
+        for (Set<AbstractContract> contracts : groups) {
+            result.addAll(contracts);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package company;
+
+public class DunningPolicy {
+    private final DelinquencyBucket deactivateFrom;
+    private final long minimumBalance;
+
+    public DunningPolicy(DelinquencyBucket deactivateFrom, long minimumBalance) {
+        if (deactivateFrom == null) {
+            throw new IllegalArgumentException("Bucket cannot be null");
+        }
+        if (minimumBalance <= 0) {
+            throw new IllegalArgumentException("Minimum balance must be positive");
+        }
+        this.deactivateFrom = deactivateFrom;
+        this.minimumBalance = minimumBalance;
+    }
+
+    public DelinquencyBucket getDeactivateFrom() {
+        return deactivateFrom;
+    }
+
+    public long getMinimumBalance() {
+        return minimumBalance;
+    }
+}
@@ -1,21 +1,49 @@
 package company;
 
 import contracts.*;
+import objects.LicensePlate;
 import objects.Person;
 import objects.Vehicle;
 import payment.ContractPaymentData;
+import payment.Money;
 import payment.PaymentHandler;
+import payment.PaymentInstance;
 import payment.PremiumPaymentFrequency;
+import pricing.PricingRules;
+import pricing.Quote;
+import util.LongObjectMap;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Handler;
 
 public class InsuranceCompany {
     private final Set<AbstractContract> contracts;
     private final PaymentHandler handler;
     private LocalDateTime currentTime;
+    private final Map<AbstractContract, Integer> snapshotSlots;
+    private volatile ContractSnapshot contractsSnapshot;
+    private final PolicyHolderSummaryCache summaryCache;
+    private final BillingColumns billingColumns;
+    private final DunningEngine dunningEngine;
+    private boolean columnarBilling;
+    private boolean lazyAccrual;
+    private final Supplier<LocalDateTime> accrualClock;
+    private PricingRules pricingRules;
+    private final LongObjectMap<SingleVehicleContract> contractsByLicensePlate;
+    private final Map<String, AbstractContract> contractsByNumber;
 
     public InsuranceCompany(LocalDateTime currentTime) {
         if(currentTime==null){
@@ -24,6 +52,17 @@ public class InsuranceCompany {
         this.currentTime = currentTime;
         this.contracts = new LinkedHashSet<AbstractContract>();
         this.handler = new PaymentHandler(this);
+        this.snapshotSlots = new HashMap<>();
+        this.contractsSnapshot = ContractSnapshot.EMPTY;
+        this.summaryCache = new PolicyHolderSummaryCache(10_000, Duration.ofMinutes(5));
+        this.billingColumns = new BillingColumns(0);
+        this.dunningEngine = new DunningEngine(this);
+        this.columnarBilling = false;
+        this.lazyAccrual = false;
+        this.accrualClock = this::getCurrentTime;
+        this.pricingRules = PricingRules.defaults();
+        this.contractsByLicensePlate = new LongObjectMap<>();
+        this.contractsByNumber = new ConcurrentHashMap<>();
     }
 
     public LocalDateTime getCurrentTime(){
@@ -35,17 +74,215 @@ public class InsuranceCompany {
             throw new IllegalArgumentException("CurrentTime cannot be null.");
         }
         this.currentTime = currentTime;
+        if(lazyAccrual){
+            summaryCache.invalidateAll();
+            dunningEngine.refreshDue();
+            dunningEngine.enforcePolicy();
+        }
+    }
+
+    public boolean isLazyAccrual() {
+        return lazyAccrual;
+    }
+
+    public void setLazyAccrual(boolean lazyAccrual) {
+        if (this.lazyAccrual == lazyAccrual) {
+            return;
+        }
+        this.lazyAccrual = lazyAccrual;
+        for (AbstractContract contract : contracts) {
+            if (contract instanceof MasterVehicleContract) {
+                for (SingleVehicleContract childContract : ((MasterVehicleContract) contract).getChildContracts()) {
+                    attachAccrualClock(childContract);
+                }
+            } else {
+                attachAccrualClock(contract);
+            }
+        }
+        if (lazyAccrual) {
+            for (AbstractContract contract : contracts) {
+                dunningEngine.refresh(contract);
+            }
+        } else {
+            dunningEngine.unwatchAll();
+        }
+        summaryCache.invalidateAll();
+    }
+
+    private void attachAccrualClock(AbstractContract contract) {
+        ContractPaymentData paymentData = contract.getContractPaymentData();
+        if (paymentData == null) {
+            return;
+        }
+        if (lazyAccrual && contract.isActive()) {
+            paymentData.setAccrualClock(accrualClock);
+        } else if (paymentData.getAccrualClock() != null) {
+            chargePremiumOnContract(contract);
+            paymentData.detachAccrualClock();
+        }
     }
 
     public Set<AbstractContract> getContracts() {
-        return contracts;
+        return Collections.unmodifiableSet(contracts);
+    }
+
+    public ContractSnapshot getContractsSnapshot() {
+        return contractsSnapshot;
+    }
+
+    public DunningEngine getDunningEngine() {
+        return dunningEngine;
+    }
+
+    public PolicyHolderSummaryCache getSummaryCache() {
+        return summaryCache;
+    }
+
+    public BillingColumns getBillingColumns() {
+        return billingColumns;
+    }
+
+    public PolicyHolderSummary getPolicyHolderSummary(Person policyHolder) {
+        if (policyHolder == null) {
+            throw new IllegalArgumentException("Policy holder cannot be null");
+        }
+        return summaryCache.get(policyHolder, this::buildPolicyHolderSummary);
+    }
+
+    private PolicyHolderSummary buildPolicyHolderSummary(Person policyHolder) {
+        int contractCount = 0;
+        Map<Currency, Long> totalDebts = new HashMap<>();
+        Map<Currency, Long> totalPaids = new HashMap<>();
+        LocalDateTime nextDueTime = null;
+
+        for (AbstractContract contract : policyHolder.getContractsSnapshot()) {
+            addPaidOnContract(totalPaids, contract);
+            if (contract instanceof MasterVehicleContract) {
+                for (SingleVehicleContract childContract : ((MasterVehicleContract) contract).getChildContracts()) {
+                    contractCount++;
+                    addPaidOnContract(totalPaids, childContract);
+                    if (childContract.isActive()) {
+                        addDebt(totalDebts, childContract.getContractPaymentData());
+                        nextDueTime = earlier(nextDueTime, childContract.getContractPaymentData().getNextPaymentTime());
+                    }
+                }
+                continue;
+            }
+
+            contractCount++;
+            if (contract.isActive() && contract.getContractPaymentData() != null) {
+                addDebt(totalDebts, contract.getContractPaymentData());
+                nextDueTime = earlier(nextDueTime, contract.getContractPaymentData().getNextPaymentTime());
+            }
+        }
+
+        return new PolicyHolderSummary(policyHolder, contractCount, totalDebts, nextDueTime, totalPaids, policyHolder.getPaidOutAmounts());
+    }
+
+    private static void addDebt(Map<Currency, Long> totalDebts, ContractPaymentData paymentData) {
+        long debt = paymentData.getOutstandingBalance();
+        if (debt > 0) {
+            totalDebts.merge(paymentData.getCurrency(), debt, Money::add);
+        }
+    }
+
+    private void addPaidOnContract(Map<Currency, Long> totalPaids, AbstractContract contract) {
+        Set<PaymentInstance> payments = handler.getPaymentHistory().get(contract);
+        if (payments == null) {
+            return;
+        }
+        for (PaymentInstance payment : payments) {
+            totalPaids.merge(payment.getCurrency(), payment.getPaymentAmount(), Money::add);
+        }
+    }
+
+    private static LocalDateTime earlier(LocalDateTime current, LocalDateTime candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private void registerContract(AbstractContract contract) {
+        contractsByNumber.put(contract.getContractNumber(), contract);
+        if (contracts.add(contract)) {
+            snapshotSlots.put(contract, contractsSnapshot.nextSlot());
+            contractsSnapshot = contractsSnapshot.append(contract);
+        }
+    }
+
+    private void unregisterContract(AbstractContract contract) {
+        if (contracts.remove(contract)) {
+            Integer slot = snapshotSlots.remove(contract);
+            if (slot != null) {
+                contractsSnapshot = contractsSnapshot.without(slot);
+            }
+            if (contractsSnapshot.isSparse()) {
+                compactSnapshot();
+            }
+        }
+    }
+
+    private void compactSnapshot() {
+        ContractSnapshot snapshot = ContractSnapshot.EMPTY;
+        snapshotSlots.clear();
+        for (AbstractContract contract : contracts) {
+            snapshotSlots.put(contract, snapshot.nextSlot());
+            snapshot = snapshot.append(contract);
+        }
+        contractsSnapshot = snapshot;
+    }
+
+    public PricingRules getPricingRules() {
+        return pricingRules;
+    }
+
+    public void setPricingRules(PricingRules pricingRules) {
+        if (pricingRules == null) {
+            throw new IllegalArgumentException("Pricing rules cannot be null.");
+        }
+        pricingRules.getProduct(PricingRules.VEHICLE);
+        pricingRules.getProduct(PricingRules.TRAVEL);
+        this.pricingRules = pricingRules;
+    }
+
+    public AbstractContract findContract(String contractNumber) {
+        if (contractNumber == null) {
+            throw new IllegalArgumentException("Contract number cannot be null");
+        }
+        return contractsByNumber.get(contractNumber);
+    }
+
+    public SingleVehicleContract findContractByLicensePlate(long licensePlateCode) {
+        return contractsByLicensePlate.get(licensePlateCode);
+    }
+
+    public SingleVehicleContract findContractByLicensePlate(String licensePlate) {
+        long licensePlateCode = LicensePlate.encode(licensePlate);
+        if (licensePlateCode == LicensePlate.INVALID) {
+            throw new IllegalArgumentException("License plate is invalid");
+        }
+        return findContractByLicensePlate(licensePlateCode);
+    }
+
+    public Vehicle findOrCreateVehicle(String licensePlate, long originalValue) {
+        long licensePlateCode = LicensePlate.encode(licensePlate);
+        if (licensePlateCode == LicensePlate.INVALID) {
+            throw new IllegalArgumentException("License plate is invalid");
+        }
+        SingleVehicleContract contract = contractsByLicensePlate.get(licensePlateCode);
+        if (contract != null && contract.getInsuredVehicle().getOriginalValue() == originalValue) {
+            return contract.getInsuredVehicle();
+        }
+        return new Vehicle(licensePlateCode, originalValue);
     }
 
     public PaymentHandler getHandler() {
         return handler;
     }
 
-    public SingleVehicleContract insureVehicle(String contractNumber, Person beneficiary, Person policyHolder, int proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Vehicle vehicleToInsure){
+    public SingleVehicleContract insureVehicle(String contractNumber, Person beneficiary, Person policyHolder, long proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Vehicle vehicleToInsure){
+        return insureVehicle(contractNumber, beneficiary, policyHolder, proposedPremium, proposedPaymentFrequency, vehicleToInsure, Money.DEFAULT_CURRENCY);
+    }
+
+    public SingleVehicleContract insureVehicle(String contractNumber, Person beneficiary, Person policyHolder, long proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Vehicle vehicleToInsure, Currency currency){
         if(vehicleToInsure == null){
             throw new IllegalArgumentException("Vehicle to insure cannot be null.");
         }
@@ -58,33 +295,135 @@ public class InsuranceCompany {
             throw new IllegalArgumentException("Proposed premium must be positive.");
         }
 
-        for(AbstractContract contract : contracts){
-            if(contract.getContractNumber().equals(contractNumber)){
-                throw new IllegalArgumentException("Contract number already exists.");
-            }
-        }
-
-        double annualPremium = (double)proposedPremium * (12 / proposedPaymentFrequency.getValueInMonths());
+        requireNewContractNumber(contractNumber);
 
-        if(annualPremium < (vehicleToInsure.getOriginalValue()*0.02)){
-            throw new IllegalArgumentException("Proposed payment cannot be lower than 2% of original value");
-        }
+        Quote quote = quoteVehicle(proposedPremium, proposedPaymentFrequency, vehicleToInsure, currency);
 
-        int coverageAmount=vehicleToInsure.getOriginalValue()/2;
+        long coverageAmount = quote.getCoverageAmount();
 
-        ContractPaymentData contractPaymentData = new ContractPaymentData(proposedPremium, proposedPaymentFrequency, getCurrentTime(),0);
+        ContractPaymentData contractPaymentData = new ContractPaymentData(proposedPremium, proposedPaymentFrequency, getCurrentTime(), 0, currency);
 
         SingleVehicleContract singleVehicleContract = new SingleVehicleContract(contractNumber,this, beneficiary, policyHolder, contractPaymentData, coverageAmount, vehicleToInsure);
 
         chargePremiumOnContract(singleVehicleContract);
 
-        contracts.add(singleVehicleContract);
+        attachAccrualClock(singleVehicleContract);
+        registerContract(singleVehicleContract);
+        trackBilling(singleVehicleContract);
+        contractsByLicensePlate.put(vehicleToInsure.getLicensePlateCode(), singleVehicleContract);
         policyHolder.addContract(singleVehicleContract);
+        summaryCache.invalidate(policyHolder);
 
         return singleVehicleContract;
     }
 
-    public TravelContract insurePersons(String contractNumber, Person policyHolder, int proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Set<Person> personsToInsure) {
+    private Quote quoteVehicle(long proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Vehicle vehicleToInsure, Currency currency) {
+        Quote quote = pricingRules.quote(PricingRules.VEHICLE, proposedPremium, proposedPaymentFrequency, vehicleToInsure.getOriginalValue(), 0, currency);
+
+        if(!quote.isEligible()){
+            throw new IllegalArgumentException("Vehicle is not eligible for insurance.");
+        }
+
+        if(quote.getAnnualPremium() < quote.getMinimumAnnualPremium()){
+            throw new IllegalArgumentException("Proposed payment cannot be lower than the minimum annual premium");
+        }
+
+        if(quote.getCoverageAmount() < 0){
+            throw new IllegalArgumentException("Coverage amount cannot be negative");
+        }
+        return quote;
+    }
+
+    public List<SingleVehicleContract> insureVehiclesIntoMasterVehicleContract(MasterVehicleContract masterVehicleContract, List<String> contractNumbers, long[] proposedPremiums, PremiumPaymentFrequency proposedPaymentFrequency, List<Vehicle> vehiclesToInsure) {
+        return insureVehiclesIntoMasterVehicleContract(masterVehicleContract, contractNumbers, proposedPremiums, proposedPaymentFrequency, vehiclesToInsure, Money.DEFAULT_CURRENCY);
+    }
+
+    public List<SingleVehicleContract> insureVehiclesIntoMasterVehicleContract(MasterVehicleContract masterVehicleContract, List<String> contractNumbers, long[] proposedPremiums, PremiumPaymentFrequency proposedPaymentFrequency, List<Vehicle> vehiclesToInsure, Currency currency) {
+        if (masterVehicleContract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (contractNumbers == null || proposedPremiums == null || vehiclesToInsure == null) {
+            throw new IllegalArgumentException("Contract numbers, premiums and vehicles cannot be null.");
+        }
+        if (contractNumbers.size() != proposedPremiums.length || contractNumbers.size() != vehiclesToInsure.size()) {
+            throw new IllegalArgumentException("Contract numbers, premiums and vehicles must have the same size.");
+        }
+        if (proposedPaymentFrequency == null) {
+            throw new IllegalArgumentException("Proposed payment frequency cannot be null.");
+        }
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        if (!contracts.contains(masterVehicleContract)) {
+            throw new InvalidContractException("Contracts must be registered with this company");
+        }
+        if (!masterVehicleContract.isActive()) {
+            throw new InvalidContractException("Both contracts must be active");
+        }
+        requireFleetCurrency(masterVehicleContract, currency);
+
+        Set<String> newContractNumbers = new HashSet<>();
+        long[] coverageAmounts = new long[contractNumbers.size()];
+        for (int i = 0; i < contractNumbers.size(); i++) {
+            String contractNumber = contractNumbers.get(i);
+            if (!newContractNumbers.add(contractNumber)) {
+                throw new IllegalArgumentException("Contract number already exists.");
+            }
+            if (vehiclesToInsure.get(i) == null) {
+                throw new IllegalArgumentException("Vehicle to insure cannot be null.");
+            }
+            if (proposedPremiums[i] <= 0) {
+                throw new IllegalArgumentException("Proposed premium must be positive.");
+            }
+            coverageAmounts[i] = quoteVehicle(proposedPremiums[i], proposedPaymentFrequency, vehiclesToInsure.get(i), currency).getCoverageAmount();
+        }
+        requireNewContractNumbers(newContractNumbers);
+
+        List<SingleVehicleContract> singleVehicleContracts = new ArrayList<>(contractNumbers.size());
+        for (int i = 0; i < contractNumbers.size(); i++) {
+            ContractPaymentData contractPaymentData = new ContractPaymentData(proposedPremiums[i], proposedPaymentFrequency, getCurrentTime(), 0, currency);
+            singleVehicleContracts.add(new SingleVehicleContract(contractNumbers.get(i), this, masterVehicleContract.getBeneficiary(),
+                    masterVehicleContract.getPolicyHolder(), contractPaymentData, coverageAmounts[i], vehiclesToInsure.get(i)));
+        }
+
+        masterVehicleContract.requestAdditionOfChildContracts(singleVehicleContracts);
+        for (SingleVehicleContract singleVehicleContract : singleVehicleContracts) {
+            chargePremiumOnContract(singleVehicleContract);
+            attachAccrualClock(singleVehicleContract);
+            trackBilling(singleVehicleContract);
+            contractsByLicensePlate.put(singleVehicleContract.getInsuredVehicle().getLicensePlateCode(), singleVehicleContract);
+            contractsByNumber.put(singleVehicleContract.getContractNumber(), singleVehicleContract);
+        }
+        summaryCache.invalidate(masterVehicleContract.getPolicyHolder());
+
+        return singleVehicleContracts;
+    }
+
+    private void requireFleetCurrency(MasterVehicleContract masterVehicleContract, Currency currency) {
+        for (SingleVehicleContract childContract : masterVehicleContract.getChildContracts()) {
+            if (childContract.isActive()) {
+                Money.requireSameCurrency(childContract.getContractPaymentData().getCurrency(), currency);
+            }
+        }
+    }
+
+    private void requireNewContractNumbers(Set<String> newContractNumbers) {
+        for (String contractNumber : newContractNumbers) {
+            requireNewContractNumber(contractNumber);
+        }
+    }
+
+    private void requireNewContractNumber(String contractNumber) {
+        if (contractNumber != null && contractsByNumber.containsKey(contractNumber)) {
+            throw new IllegalArgumentException("Contract number already exists.");
+        }
+    }
+
+    public TravelContract insurePersons(String contractNumber, Person policyHolder, long proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Set<Person> personsToInsure) {
+        return insurePersons(contractNumber, policyHolder, proposedPremium, proposedPaymentFrequency, personsToInsure, Money.DEFAULT_CURRENCY);
+    }
+
+    public TravelContract insurePersons(String contractNumber, Person policyHolder, long proposedPremium, PremiumPaymentFrequency proposedPaymentFrequency, Set<Person> personsToInsure, Currency currency) {
         if(personsToInsure == null || personsToInsure.isEmpty()){
             throw new IllegalArgumentException("Persons to insure cannot be null or empty.");
         }
@@ -95,44 +434,47 @@ public class InsuranceCompany {
             throw new IllegalArgumentException("Proposed premium must be positive.");
         }
 
-        for(AbstractContract contract : contracts){
-            if(contract.getContractNumber().equals(contractNumber)){
-                throw new IllegalArgumentException("Contract number already exists.");
-            }
+        requireNewContractNumber(contractNumber);
+
+        Quote quote = pricingRules.quote(PricingRules.TRAVEL, proposedPremium, proposedPaymentFrequency, 0, personsToInsure.size(), currency);
+
+        if(!quote.isEligible()) {
+            throw new IllegalArgumentException("Persons are not eligible for insurance.");
         }
 
-        int paymentsPerYear = 12 / proposedPaymentFrequency.getValueInMonths();
-        int annualPremium = proposedPremium * paymentsPerYear;
+        if(quote.getAnnualPremium() < quote.getMinimumAnnualPremium()) {
+            throw new IllegalArgumentException("Annual premium is lower than the minimum annual premium.");
+        }
 
-        if(annualPremium < 5 * personsToInsure.size()) {
-            throw new IllegalArgumentException("Annual premium must be at least 5 times the number of insured persons.");
+        if(quote.getCoverageAmount() < 0) {
+            throw new IllegalArgumentException("Coverage amount cannot be negative");
         }
 
-        ContractPaymentData contractPaymentData = new ContractPaymentData(proposedPremium, proposedPaymentFrequency, getCurrentTime(), 0);
+        ContractPaymentData contractPaymentData = new ContractPaymentData(proposedPremium, proposedPaymentFrequency, getCurrentTime(), 0, currency);
 
-        int coverageAmount = personsToInsure.size() * 10;
+        long coverageAmount = quote.getCoverageAmount();
 
         TravelContract travelContract = new TravelContract(contractNumber, this,policyHolder, contractPaymentData, coverageAmount, personsToInsure);
 
         chargePremiumOnContract(travelContract);
 
-        contracts.add(travelContract);
+        attachAccrualClock(travelContract);
+        registerContract(travelContract);
+        trackBilling(travelContract);
         policyHolder.addContract(travelContract);
+        summaryCache.invalidate(policyHolder);
 
         return travelContract;
     }
 
     public MasterVehicleContract createMasterVehicleContract(String contractNumber, Person beneficiary, Person policyHolder){
-        for(AbstractContract contract : contracts){
-            if(contract.getContractNumber().equals(contractNumber)){
-                throw new IllegalArgumentException("Contract number already exists.");
-            }
-        }
+        requireNewContractNumber(contractNumber);
 
         MasterVehicleContract masterVehicleContract = new MasterVehicleContract(contractNumber, this, beneficiary, policyHolder);
 
-        contracts.add(masterVehicleContract);
+        registerContract(masterVehicleContract);
         policyHolder.addContract(masterVehicleContract);
+        summaryCache.invalidate(policyHolder);
 
         return masterVehicleContract;
     }
@@ -161,19 +503,134 @@ public class InsuranceCompany {
             throw new InvalidContractException("contract is not valid.");
         }
 
-        contracts.remove(singleVehicleContract);
+        requireFleetCurrency(masterVehicleContract, singleVehicleContract.getContractPaymentData().getCurrency());
+
+        unregisterContract(singleVehicleContract);
 
-        singleVehicleContract.getPolicyHolder().getContracts().remove(singleVehicleContract);
+        singleVehicleContract.getPolicyHolder().removeContract(singleVehicleContract);
 
         masterVehicleContract.requestAdditionOfChildContract(singleVehicleContract);
+        summaryCache.invalidate(masterVehicleContract.getPolicyHolder());
+    }
+
+    public void moveSingleVehicleContractsToMasterVehicleContract(MasterVehicleContract masterVehicleContract, Collection<SingleVehicleContract> singleVehicleContracts) throws InvalidContractException {
+        if (masterVehicleContract == null || singleVehicleContracts == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+
+        if (!contracts.contains(masterVehicleContract) ||
+                !masterVehicleContract.getPolicyHolder().getContracts().contains(masterVehicleContract)) {
+            throw new InvalidContractException("Contracts must be registered with this company");
+        }
+
+        if (!masterVehicleContract.isActive()) {
+            throw new InvalidContractException("Both contracts must be active");
+        }
+
+        Person policyHolder = masterVehicleContract.getPolicyHolder();
+        Currency currency = null;
+        for (SingleVehicleContract singleVehicleContract : singleVehicleContracts) {
+            if (singleVehicleContract == null) {
+                throw new IllegalArgumentException("Contract cannot be null");
+            }
+            if (!contracts.contains(singleVehicleContract)) {
+                throw new InvalidContractException("Contracts must be registered with this company");
+            }
+            if (!singleVehicleContract.isActive()) {
+                throw new InvalidContractException("Both contracts must be active");
+            }
+            if (!policyHolder.equals(singleVehicleContract.getPolicyHolder())) {
+                throw new InvalidContractException("Both contracts must have the same policy holder");
+            }
+            if (!policyHolder.getContracts().contains(singleVehicleContract)) {
+                throw new InvalidContractException("contract is not valid.");
+            }
+            if (currency == null) {
+                currency = singleVehicleContract.getContractPaymentData().getCurrency();
+            } else {
+                Money.requireSameCurrency(currency, singleVehicleContract.getContractPaymentData().getCurrency());
+            }
+        }
+        if (currency != null) {
+            requireFleetCurrency(masterVehicleContract, currency);
+        }
+
+        masterVehicleContract.requestAdditionOfChildContracts(singleVehicleContracts);
+
+        for (SingleVehicleContract singleVehicleContract : singleVehicleContracts) {
+            unregisterContract(singleVehicleContract);
+        }
+        policyHolder.removeContracts(singleVehicleContracts);
+        summaryCache.invalidate(policyHolder);
+    }
+
+    public void deactivateChildContracts(MasterVehicleContract masterVehicleContract, Collection<SingleVehicleContract> childContracts) {
+        if (masterVehicleContract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (!contracts.contains(masterVehicleContract)) {
+            throw new InvalidContractException("Contracts must be registered with this company");
+        }
+
+        masterVehicleContract.setInactive(childContracts);
+        summaryCache.invalidate(masterVehicleContract.getPolicyHolder());
+    }
+
+    public boolean isColumnarBilling() {
+        return columnarBilling;
+    }
+
+    public void setColumnarBilling(boolean columnarBilling) {
+        if (this.columnarBilling == columnarBilling) {
+            return;
+        }
+        this.columnarBilling = columnarBilling;
+        if (columnarBilling) {
+            billingColumns.capture(contracts);
+        } else {
+            billingColumns.clear();
+        }
+    }
+
+    private void trackBilling(AbstractContract contract) {
+        if (columnarBilling) {
+            billingColumns.track(contract);
+        }
+    }
+
+    public void handleBalanceChange(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        summaryCache.invalidate(contract.getPolicyHolder());
+        dunningEngine.refresh(contract);
+    }
+
+    public void handleContractDeactivation(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        dunningEngine.untrack(contract);
+        summaryCache.invalidate(contract.getPolicyHolder());
+        if (columnarBilling) {
+            billingColumns.untrack(contract);
+        }
     }
 
     public void chargePremiumsOnContracts(){
+        if(columnarBilling){
+            billingColumns.bill(getCurrentTime(), this);
+            dunningEngine.enforcePolicy();
+            return;
+        }
+
         for (AbstractContract contract : contracts) {
             if(contract.isActive()){
                 contract.updateBalance();
             }
         }
+
+        dunningEngine.enforcePolicy();
     }
 
     public void chargePremiumOnContract(MasterVehicleContract contract){
@@ -188,17 +645,12 @@ public class InsuranceCompany {
         }
 
         if(contract.isActive()){
-            LocalDateTime nextPaymentTime = contract.getContractPaymentData().getNextPaymentTime();
             ContractPaymentData paymentData = contract.getContractPaymentData();
 
-            while(getCurrentTime().isEqual(nextPaymentTime) || getCurrentTime().isAfter(nextPaymentTime)){
-                paymentData.setOutstandingBalance(
-                        paymentData.getOutstandingBalance() + paymentData.getPremium()
-                );
-
-                paymentData.updateNextPaymentTime();
+            boolean charged = paymentData.settle(getCurrentTime()) > 0;
 
-                nextPaymentTime = paymentData.getNextPaymentTime();
+            if(charged){
+                handleBalanceChange(contract);
             }
         }
     }
@@ -220,15 +672,25 @@ public class InsuranceCompany {
             throw new InvalidContractException("Contract is not active");
         }
 
-        int payoutPerPerson = travelContract.getCoverageAmount() / affectedPersons.size();
+        if(lazyAccrual){
+            chargePremiumOnContract(travelContract);
+        }
+
+        Currency currency = travelContract.getContractPaymentData().getCurrency();
+        int index = 0;
 
         for(Person person : affectedPersons) {
-            person.payout(payoutPerPerson);
+            long payout = Money.share(travelContract.getCoverageAmount(), affectedPersons.size(), index++);
+            if(payout > 0) {
+                person.payout(payout, currency);
+            }
+            summaryCache.invalidate(person);
         }
         travelContract.setInactive();
+        summaryCache.invalidate(travelContract.getPolicyHolder());
     }
 
-    public void processClaim(SingleVehicleContract singleVehicleContract, int expectedDamages) {
+    public void processClaim(SingleVehicleContract singleVehicleContract, long expectedDamages) {
         if(singleVehicleContract == null) {
             throw new IllegalArgumentException("Single vehicle contract cannot be null.");
         }
@@ -241,16 +703,22 @@ public class InsuranceCompany {
             throw new InvalidContractException("Single vehicle contract is not active.");
         }
 
+        if(lazyAccrual) {
+            chargePremiumOnContract(singleVehicleContract);
+        }
+
         Person payoutRecipient = singleVehicleContract.getBeneficiary();
         if (payoutRecipient == null) {
             payoutRecipient = singleVehicleContract.getPolicyHolder();
         }
 
-        payoutRecipient.payout(singleVehicleContract.getCoverageAmount());
+        payoutRecipient.payout(singleVehicleContract.getCoverageAmount(), singleVehicleContract.getContractPaymentData().getCurrency());
+        summaryCache.invalidate(payoutRecipient);
 
-        if(expectedDamages >= (singleVehicleContract.getInsuredVehicle().getOriginalValue())*0.7) {
+        if(Money.multiply(expectedDamages, 10) >= Money.multiply(singleVehicleContract.getInsuredVehicle().getOriginalValue(), 7)) {
             singleVehicleContract.setInactive();
         }
+        summaryCache.invalidate(singleVehicleContract.getPolicyHolder());
     }
 }
 
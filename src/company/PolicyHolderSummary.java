@@ -0,0 +1,88 @@
+package company;
+
+import objects.Person;
+import payment.Money;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.Map;
+
+public final class PolicyHolderSummary {
+    private final Person policyHolder;
+    private final int contractCount;
+    private final Map<Currency, Long> totalDebts;
+    private final LocalDateTime nextDueTime;
+    private final Map<Currency, Long> totalPaids;
+    private final Map<Currency, Long> paidOutAmounts;
+
+    public PolicyHolderSummary(Person policyHolder, int contractCount, Map<Currency, Long> totalDebts, LocalDateTime nextDueTime,
+                               Map<Currency, Long> totalPaids, Map<Currency, Long> paidOutAmounts) {
+        if (policyHolder == null) {
+            throw new IllegalArgumentException("Policy holder cannot be null");
+        }
+        if (totalDebts == null || totalPaids == null || paidOutAmounts == null) {
+            throw new IllegalArgumentException("Amounts cannot be null");
+        }
+        this.policyHolder = policyHolder;
+        this.contractCount = contractCount;
+        this.totalDebts = Map.copyOf(totalDebts);
+        this.nextDueTime = nextDueTime;
+        this.totalPaids = Map.copyOf(totalPaids);
+        this.paidOutAmounts = Map.copyOf(paidOutAmounts);
+    }
+
+    public Person getPolicyHolder() {
+        return policyHolder;
+    }
+
+    public int getContractCount() {
+        return contractCount;
+    }
+
+    public long getTotalDebt() {
+        return getTotalDebt(Money.DEFAULT_CURRENCY);
+    }
+
+    public long getTotalDebt(Currency currency) {
+        return amount(totalDebts, currency);
+    }
+
+    public Map<Currency, Long> getTotalDebts() {
+        return totalDebts;
+    }
+
+    public LocalDateTime getNextDueTime() {
+        return nextDueTime;
+    }
+
+    public long getTotalPaid() {
+        return getTotalPaid(Money.DEFAULT_CURRENCY);
+    }
+
+    public long getTotalPaid(Currency currency) {
+        return amount(totalPaids, currency);
+    }
+
+    public Map<Currency, Long> getTotalPaids() {
+        return totalPaids;
+    }
+
+    public long getPaidOutAmount() {
+        return getPaidOutAmount(Money.DEFAULT_CURRENCY);
+    }
+
+    public long getPaidOutAmount(Currency currency) {
+        return amount(paidOutAmounts, currency);
+    }
+
+    public Map<Currency, Long> getPaidOutAmounts() {
+        return paidOutAmounts;
+    }
+
+    private static long amount(Map<Currency, Long> amounts, Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        return amounts.getOrDefault(currency, 0L);
+    }
+}
@@ -0,0 +1,162 @@
+package company;
+
+import objects.Person;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+public class PolicyHolderSummaryCache {
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<Person, CachedSummary> entries;
+    private long invalidationCount;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    public PolicyHolderSummaryCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    public PolicyHolderSummaryCache(int maximumSize, Duration timeToLive, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        if (ticker == null) {
+            throw new IllegalArgumentException("Ticker cannot be null");
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public PolicyHolderSummary get(Person policyHolder, Function<Person, PolicyHolderSummary> loader) {
+        if (policyHolder == null || loader == null) {
+            throw new IllegalArgumentException("Policy holder and loader cannot be null");
+        }
+
+        long invalidationsBeforeLoad;
+        synchronized (this) {
+            PolicyHolderSummary cached = lookup(policyHolder);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+            invalidationsBeforeLoad = invalidationCount;
+        }
+
+        PolicyHolderSummary summary = loader.apply(policyHolder);
+
+        synchronized (this) {
+            if (summary != null && invalidationsBeforeLoad == invalidationCount) {
+                entries.put(policyHolder, new CachedSummary(summary, ticker.getAsLong()));
+                evictIfNeeded();
+            }
+        }
+        return summary;
+    }
+
+    public synchronized PolicyHolderSummary getIfPresent(Person policyHolder) {
+        PolicyHolderSummary cached = lookup(policyHolder);
+        if (cached != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return cached;
+    }
+
+    public synchronized void invalidate(Person policyHolder) {
+        invalidationCount++;
+        if (policyHolder != null) {
+            entries.remove(policyHolder);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidationCount++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized long getExpirationCount() {
+        return expirationCount;
+    }
+
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    private PolicyHolderSummary lookup(Person policyHolder) {
+        CachedSummary cached = entries.get(policyHolder);
+        if (cached == null) {
+            return null;
+        }
+        if (ticker.getAsLong() - cached.loadedAt >= timeToLiveNanos) {
+            entries.remove(policyHolder);
+            expirationCount++;
+            return null;
+        }
+        if (cached.frequency < Integer.MAX_VALUE) {
+            cached.frequency++;
+        }
+        return cached.summary;
+    }
+
+    private void evictIfNeeded() {
+        int secondChances = entries.size();
+        while (entries.size() > maximumSize) {
+            Map.Entry<Person, CachedSummary> eldest = entries.entrySet().iterator().next();
+            CachedSummary cached = eldest.getValue();
+            if (cached.frequency > 1 && secondChances-- > 0) {
+                cached.frequency >>>= 1;
+                entries.get(eldest.getKey());
+            } else {
+                entries.remove(eldest.getKey());
+                evictionCount++;
+            }
+        }
+    }
+
+    private static final class CachedSummary {
+        private final PolicyHolderSummary summary;
+        private final long loadedAt;
+        private int frequency;
+
+        private CachedSummary(PolicyHolderSummary summary, long loadedAt) {
+            this.summary = summary;
+            this.loadedAt = loadedAt;
+            this.frequency = 1;
+        }
+    }
+}
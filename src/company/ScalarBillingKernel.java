@@ -0,0 +1,59 @@
+package company;
+
+import payment.Money;
+
+import java.time.Year;
+
+final class ScalarBillingKernel implements BillingKernel {
+    @Override
+    public int charge(long[] premiums, long[] balances, long[] frequencies, long[] dueYears, long[] dueMonths, long[] dueDays,
+                      long[] dueNanos, long[] chargedPeriods, int size, long nowMonth, long nowDay, long nowNano) {
+        return charge(premiums, balances, frequencies, dueYears, dueMonths, dueDays, dueNanos, chargedPeriods, 0, size, nowMonth, nowDay, nowNano);
+    }
+
+    static int charge(long[] premiums, long[] balances, long[] frequencies, long[] dueYears, long[] dueMonths, long[] dueDays,
+                      long[] dueNanos, long[] chargedPeriods, int from, int to, long nowMonth, long nowDay, long nowNano) {
+        int charged = 0;
+        for (int i = from; i < to; i++) {
+            long year = dueYears[i];
+            long month = dueMonths[i];
+            long day = dueDays[i];
+            long nano = dueNanos[i];
+            long balance = balances[i];
+            long periods = 0;
+
+            while (isDue(year, month, day, nano, nowMonth, nowDay, nowNano)) {
+                balance = Money.add(balance, premiums[i]);
+                month += frequencies[i];
+                if (month > 12) {
+                    month -= 12;
+                    year++;
+                }
+                day = Math.min(day, lengthOfMonth(year, month));
+                periods++;
+            }
+
+            if (periods > 0) {
+                balances[i] = balance;
+                dueYears[i] = year;
+                dueMonths[i] = month;
+                dueDays[i] = day;
+                chargedPeriods[i] += periods;
+                charged++;
+            }
+        }
+        return charged;
+    }
+
+    private static boolean isDue(long year, long month, long day, long nano, long nowMonth, long nowDay, long nowNano) {
+        long dueMonth = year * 12 + month;
+        return dueMonth < nowMonth || (dueMonth == nowMonth && (day < nowDay || (day == nowDay && nano <= nowNano)));
+    }
+
+    private static long lengthOfMonth(long year, long month) {
+        if (month == 2) {
+            return Year.isLeap(year) ? 29 : 28;
+        }
+        return 30 + ((month + (month >> 3)) & 1);
+    }
+}
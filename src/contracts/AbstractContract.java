@@ -11,10 +11,10 @@ public abstract class AbstractContract {
     protected final InsuranceCompany insurer;
     protected final Person policyHolder;
     protected final ContractPaymentData contractPaymentData;
-    protected int coverageAmount;
+    protected long coverageAmount;
     protected boolean isActive;
 
-    public AbstractContract(String contractNumber, InsuranceCompany insurer, Person policyHolder, ContractPaymentData contractPaymentData, int coverageAmount) {
+    public AbstractContract(String contractNumber, InsuranceCompany insurer, Person policyHolder, ContractPaymentData contractPaymentData, long coverageAmount) {
         if (contractNumber == null || contractNumber.isEmpty()) {
             throw new IllegalArgumentException("Contract number cannot be null or empty");
         }
@@ -48,7 +48,7 @@ public abstract class AbstractContract {
         return insurer;
     }
 
-    public int getCoverageAmount() {
+    public long getCoverageAmount() {
         return coverageAmount;
     }
 
@@ -58,9 +58,13 @@ public abstract class AbstractContract {
 
     public void setInactive() {
         isActive = false;
+        if (contractPaymentData != null) {
+            contractPaymentData.detachAccrualClock();
+        }
+        insurer.handleContractDeactivation(this);
     }
 
-    public void setCoverageAmount(int coverageAmount) {
+    public void setCoverageAmount(long coverageAmount) {
         if(coverageAmount < 0) {
             throw new IllegalArgumentException("Coverage amount cannot be negative");
         }
@@ -71,7 +75,7 @@ public abstract class AbstractContract {
         return contractPaymentData;
     }
 
-    public void pay(int amount) {
+    public void pay(long amount) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Payment amount must be positive");
         }
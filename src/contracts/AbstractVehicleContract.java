@@ -7,7 +7,7 @@ import payment.ContractPaymentData;
 public abstract class AbstractVehicleContract extends AbstractContract {
     protected Person beneficiary;
 
-    public AbstractVehicleContract(String contractNumber, InsuranceCompany insurer, Person beneficiary, Person policyHolder, ContractPaymentData contractPaymentData, int coverageAmount) {
+    public AbstractVehicleContract(String contractNumber, InsuranceCompany insurer, Person beneficiary, Person policyHolder, ContractPaymentData contractPaymentData, long coverageAmount) {
         super(contractNumber, insurer, policyHolder, contractPaymentData, coverageAmount);
 
         if (beneficiary != null && beneficiary.equals(policyHolder)) {
@@ -4,6 +4,8 @@ import company.InsuranceCompany;
 import objects.LegalForm;
 import objects.Person;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -38,6 +40,28 @@ public class MasterVehicleContract extends AbstractVehicleContract {
         childContracts.add(contract);
     }
 
+    public void requestAdditionOfChildContracts(Collection<SingleVehicleContract> contracts) {
+        if (contracts == null) {
+            throw new IllegalArgumentException("Contracts cannot be null");
+        }
+        Set<SingleVehicleContract> batch = new HashSet<>();
+        for (SingleVehicleContract contract : contracts) {
+            if (contract == null) {
+                throw new IllegalArgumentException("Contract cannot be null");
+            }
+            if (childContracts.contains(contract) || !batch.add(contract)) {
+                throw new IllegalArgumentException("Contract already exists in the set");
+            }
+            if (!contract.getPolicyHolder().equals(this.policyHolder)) {
+                throw new IllegalArgumentException("Child contract policy holder must be the same as master contract policy holder");
+            }
+            if (!contract.getInsurer().equals(this.insurer)) {
+                throw new IllegalArgumentException("Child contract insurer must be the same as master contract insurer");
+            }
+        }
+        childContracts.addAll(contracts);
+    }
+
     @Override
     public boolean isActive() {
         if (childContracts.isEmpty()) {
@@ -52,6 +76,20 @@ public class MasterVehicleContract extends AbstractVehicleContract {
         return false;
     }
 
+    public void setInactive(Collection<SingleVehicleContract> contracts) {
+        if (contracts == null) {
+            throw new IllegalArgumentException("Contracts cannot be null");
+        }
+        for (SingleVehicleContract contract : contracts) {
+            if (contract == null || !childContracts.contains(contract)) {
+                throw new IllegalArgumentException("Contract is not a child of this master contract");
+            }
+        }
+        for (SingleVehicleContract contract : contracts) {
+            contract.setInactive();
+        }
+    }
+
     @Override
     public void setInactive() {
         for (SingleVehicleContract contract : childContracts) {
@@ -61,7 +99,7 @@ public class MasterVehicleContract extends AbstractVehicleContract {
     }
 
     @Override
-    public void pay(int amount) {
+    public void pay(long amount) {
         getInsurer().getHandler().pay(this, amount);
     }
 
@@ -8,7 +8,7 @@ import payment.ContractPaymentData;
 public class SingleVehicleContract extends AbstractVehicleContract {
     private final Vehicle insuredVehicle;
 
-    public SingleVehicleContract(String contractNumber, InsuranceCompany insurer, Person beneficiary, Person policyHolder, ContractPaymentData contractPaymentData, int coverageAmount, Vehicle vehicleToInsure) {
+    public SingleVehicleContract(String contractNumber, InsuranceCompany insurer, Person beneficiary, Person policyHolder, ContractPaymentData contractPaymentData, long coverageAmount, Vehicle vehicleToInsure) {
         super(contractNumber, insurer, beneficiary, policyHolder, contractPaymentData, coverageAmount);
         if(vehicleToInsure == null){
             throw new IllegalArgumentException("insuredVehicle cannot be null");
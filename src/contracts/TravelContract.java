@@ -10,7 +10,7 @@ import java.util.Set;
 public class TravelContract extends AbstractContract{
     private final Set<Person> insuredPersons;
 
-    public TravelContract(String contractNumber, InsuranceCompany insurer, Person policyHolder, ContractPaymentData contractPaymentData, int coverageAmount, Set<Person> personsToInsure) {
+    public TravelContract(String contractNumber, InsuranceCompany insurer, Person policyHolder, ContractPaymentData contractPaymentData, long coverageAmount, Set<Person> personsToInsure) {
         super(contractNumber, insurer, policyHolder, contractPaymentData, coverageAmount);
 
         if (personsToInsure == null || personsToInsure.isEmpty()) {
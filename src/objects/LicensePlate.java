@@ -0,0 +1,66 @@
+package objects;
+
+public final class LicensePlate {
+    public static final int LENGTH = 7;
+    public static final long INVALID = -1;
+
+    private static final int RADIX = 36;
+    private static final long CODE_LIMIT = codeLimit();
+
+    private LicensePlate() {
+    }
+
+    public static boolean isValid(String licensePlate) {
+        return encode(licensePlate) != INVALID;
+    }
+
+    public static boolean isValid(long code) {
+        return code >= 0 && code < CODE_LIMIT;
+    }
+
+    public static long encode(String licensePlate) {
+        if (licensePlate == null || licensePlate.length() != LENGTH) {
+            return INVALID;
+        }
+        long code = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = digit(licensePlate.charAt(i));
+            if (digit < 0) {
+                return INVALID;
+            }
+            code = code * RADIX + digit;
+        }
+        return code;
+    }
+
+    public static String decode(long code) {
+        if (!isValid(code)) {
+            throw new IllegalArgumentException("License plate code is invalid");
+        }
+        char[] characters = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            int digit = (int) (code % RADIX);
+            characters[i] = (char) (digit < 10 ? '0' + digit : 'A' + digit - 10);
+            code /= RADIX;
+        }
+        return new String(characters);
+    }
+
+    private static int digit(char character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character >= 'A' && character <= 'Z') {
+            return character - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static long codeLimit() {
+        long max = 1;
+        for (int i = 0; i < LENGTH; i++) {
+            max *= RADIX;
+        }
+        return max;
+    }
+}
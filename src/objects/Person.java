@@ -1,18 +1,27 @@
 package objects;
 
 import contracts.AbstractContract;
+import payment.Money;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 public class Person {
     private final String id;
     private final LegalForm legalForm;
-    private int paidOutAmount;
+    private Currency[] paidOutCurrencies;
+    private long[] paidOutAmounts;
     private final Set<AbstractContract> contracts;
+    private volatile Set<AbstractContract> contractsSnapshot;
 
     public Person(String id){
         if (id == null || id.isEmpty()) {
@@ -28,8 +37,10 @@ public class Person {
         }
 
         this.id = id;
-        paidOutAmount=0;
+        this.paidOutCurrencies = new Currency[0];
+        this.paidOutAmounts = new long[0];
         this.contracts = new LinkedHashSet<>();
+        this.contractsSnapshot = Collections.emptySet();
 
     }
 
@@ -99,8 +110,33 @@ public class Person {
         return id;
     }
 
-    public int getPaidOutAmount() {
-        return paidOutAmount;
+    public long getPaidOutAmount() {
+        return getPaidOutAmount(Money.DEFAULT_CURRENCY);
+    }
+
+    public long getPaidOutAmount(Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        int index = paidOutIndex(currency);
+        return index < 0 ? 0 : paidOutAmounts[index];
+    }
+
+    public Map<Currency, Long> getPaidOutAmounts() {
+        Map<Currency, Long> amounts = new HashMap<>();
+        for (int i = 0; i < paidOutCurrencies.length; i++) {
+            amounts.put(paidOutCurrencies[i], paidOutAmounts[i]);
+        }
+        return Collections.unmodifiableMap(amounts);
+    }
+
+    private int paidOutIndex(Currency currency) {
+        for (int i = 0; i < paidOutCurrencies.length; i++) {
+            if (paidOutCurrencies[i].equals(currency)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public LegalForm getLegalForm() {
@@ -108,20 +144,62 @@ public class Person {
     }
 
     public Set<AbstractContract> getContracts() {
-        return contracts;
+        return Collections.unmodifiableSet(contracts);
     }
 
     public void addContract(AbstractContract contract) {
         if (contract == null) {
             throw new IllegalArgumentException("Contract cannot be null");
         }
-        contracts.add(contract);
+        if (contracts.add(contract)) {
+            contractsSnapshot = Collections.unmodifiableSet(new LinkedHashSet<>(contracts));
+        }
+    }
+
+    public void removeContract(AbstractContract contract) {
+        if (contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if (contracts.remove(contract)) {
+            contractsSnapshot = Collections.unmodifiableSet(new LinkedHashSet<>(contracts));
+        }
+    }
+
+    public void removeContracts(Collection<? extends AbstractContract> contractsToRemove) {
+        if (contractsToRemove == null) {
+            throw new IllegalArgumentException("Contracts cannot be null");
+        }
+        boolean removed = false;
+        for (AbstractContract contract : contractsToRemove) {
+            removed |= contracts.remove(contract);
+        }
+        if (removed) {
+            contractsSnapshot = Collections.unmodifiableSet(new LinkedHashSet<>(contracts));
+        }
+    }
+
+    public Set<AbstractContract> getContractsSnapshot() {
+        return contractsSnapshot;
     }
 
-    public void payout(int paidOutAmount) {
+    public void payout(long paidOutAmount) {
+        payout(paidOutAmount, Money.DEFAULT_CURRENCY);
+    }
+
+    public void payout(long paidOutAmount, Currency currency) {
         if (paidOutAmount <= 0) {
             throw new IllegalArgumentException("Paid out amount must be positive");
         }
-        this.paidOutAmount += paidOutAmount;
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        int index = paidOutIndex(currency);
+        if (index < 0) {
+            index = paidOutCurrencies.length;
+            paidOutCurrencies = Arrays.copyOf(paidOutCurrencies, index + 1);
+            paidOutAmounts = Arrays.copyOf(paidOutAmounts, index + 1);
+            paidOutCurrencies[index] = currency;
+        }
+        paidOutAmounts[index] = Money.add(paidOutAmounts[index], paidOutAmount);
     }
 }
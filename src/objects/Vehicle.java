@@ -1,25 +1,39 @@
 package objects;
 
 public class Vehicle {
-    private  final String licensePlate;
-    private final int originalValue;
+    private final long licensePlateCode;
+    private final long originalValue;
+    private String licensePlate;
 
-    public Vehicle(String licensePlate, int originalValue) {
-        if(licensePlate == null || licensePlate.length() != 7 || !licensePlate.matches("[A-Z0-9]+")){
+    public Vehicle(String licensePlate, long originalValue) {
+        this(LicensePlate.encode(licensePlate), originalValue);
+    }
+
+    public Vehicle(long licensePlateCode, long originalValue) {
+        if(!LicensePlate.isValid(licensePlateCode)){
             throw new IllegalArgumentException("License plate is invalid");
         }
         if(originalValue <= 0){
             throw new IllegalArgumentException("Original value is invalid");
         }
-        this.licensePlate = licensePlate;
+        this.licensePlateCode = licensePlateCode;
         this.originalValue = originalValue;
     }
 
     public String getLicensePlate() {
-        return licensePlate;
+        String decoded = licensePlate;
+        if (decoded == null) {
+            decoded = LicensePlate.decode(licensePlateCode);
+            licensePlate = decoded;
+        }
+        return decoded;
+    }
+
+    public long getLicensePlateCode() {
+        return licensePlateCode;
     }
 
-    public int getOriginalValue() {
+    public long getOriginalValue() {
         return originalValue;
     }
 }
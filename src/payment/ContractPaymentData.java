@@ -1,14 +1,24 @@
 package payment;
 
 import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.function.Supplier;
 
 public class ContractPaymentData {
-    private int premium;
+    private long premium;
     private PremiumPaymentFrequency premiumPaymentFrequency;
     private LocalDateTime nextPaymentTime;
-    private int outstandingBalance;
+    private long outstandingBalance;
+    private final Currency currency;
+    private LocalDateTime lastSettledTime;
+    private Supplier<LocalDateTime> accrualClock;
+    private Runnable changeListener;
 
-    public ContractPaymentData(int premium, PremiumPaymentFrequency premiumPaymentFrequency, LocalDateTime nextPaymentTime, int outstandingBalance) {
+    public ContractPaymentData(long premium, PremiumPaymentFrequency premiumPaymentFrequency, LocalDateTime nextPaymentTime, long outstandingBalance) {
+        this(premium, premiumPaymentFrequency, nextPaymentTime, outstandingBalance, Money.DEFAULT_CURRENCY);
+    }
+
+    public ContractPaymentData(long premium, PremiumPaymentFrequency premiumPaymentFrequency, LocalDateTime nextPaymentTime, long outstandingBalance, Currency currency) {
         if (premium <= 0) {
             throw new IllegalArgumentException("Premium must be positive.");
         }
@@ -18,37 +28,120 @@ public class ContractPaymentData {
         if (nextPaymentTime == null) {
             throw new IllegalArgumentException("Next payment time cannot be null.");
         }
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null.");
+        }
 
         this.premium = premium;
         this.premiumPaymentFrequency = premiumPaymentFrequency;
         this.nextPaymentTime = nextPaymentTime;
         this.outstandingBalance = outstandingBalance;
+        this.currency = currency;
     }
 
-    public int getPremium() {
+    public long getPremium() {
         return premium;
     }
 
-    public void setPremium(int premium) {
+    public void setPremium(long premium) {
         if (premium <= 0) {
             throw new IllegalArgumentException("Premium must be positive.");
         }
         this.premium = premium;
+        changed();
     }
 
-    public void setOutstandingBalance(int outstandingBalance) {
+    public void setOutstandingBalance(long outstandingBalance) {
         this.outstandingBalance = outstandingBalance;
+        changed();
+    }
+
+    public long getOutstandingBalance(){
+        if (accrualClock != null) {
+            return Money.add(outstandingBalance, Money.multiply(premium, duePeriods(accrualClock.get())));
+        }
+        return outstandingBalance;
     }
 
-    public int getOutstandingBalance(){
+    public long getSettledOutstandingBalance() {
         return outstandingBalance;
     }
 
+    private int duePeriods(LocalDateTime now) {
+        int periods = 0;
+        LocalDateTime dueTime = nextPaymentTime;
+        while (!now.isBefore(dueTime)) {
+            dueTime = dueTime.plusMonths(premiumPaymentFrequency.getValueInMonths());
+            periods++;
+        }
+        return periods;
+    }
+
+    public int settle(LocalDateTime now) {
+        if (now == null) {
+            throw new IllegalArgumentException("Current time cannot be null.");
+        }
+
+        int periods = 0;
+        while (!now.isBefore(nextPaymentTime)) {
+            outstandingBalance = Money.add(outstandingBalance, premium);
+            nextPaymentTime = nextPaymentTime.plusMonths(premiumPaymentFrequency.getValueInMonths());
+            periods++;
+        }
+
+        if (lastSettledTime == null || now.isAfter(lastSettledTime)) {
+            lastSettledTime = now;
+        }
+        if (periods > 0) {
+            changed();
+        }
+        return periods;
+    }
+
+    public LocalDateTime getLastSettledTime() {
+        return lastSettledTime;
+    }
+
+    public Supplier<LocalDateTime> getAccrualClock() {
+        return accrualClock;
+    }
+
+    public void setAccrualClock(Supplier<LocalDateTime> accrualClock) {
+        this.accrualClock = accrualClock;
+    }
+
+    public Runnable getChangeListener() {
+        return changeListener;
+    }
+
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void changed() {
+        Runnable listener = changeListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    public void detachAccrualClock() {
+        if (accrualClock != null) {
+            settle(accrualClock.get());
+            accrualClock = null;
+        }
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
     public void setPremiumPaymentFrequency(PremiumPaymentFrequency premiumPaymentFrequency) {
         if (premiumPaymentFrequency == null) {
             throw new IllegalArgumentException("Premium payment frequency cannot be null.");
         }
         this.premiumPaymentFrequency = premiumPaymentFrequency;
+        changed();
     }
 
     public PremiumPaymentFrequency getPremiumPaymentFrequency() {
@@ -56,14 +149,44 @@ public class ContractPaymentData {
     }
 
     public LocalDateTime getNextPaymentTime(){
+        if (accrualClock != null) {
+            LocalDateTime now = accrualClock.get();
+            LocalDateTime dueTime = nextPaymentTime;
+            while (!now.isBefore(dueTime)) {
+                dueTime = dueTime.plusMonths(premiumPaymentFrequency.getValueInMonths());
+            }
+            return dueTime;
+        }
+        return nextPaymentTime;
+    }
+
+    public LocalDateTime getSettledNextPaymentTime() {
         return nextPaymentTime;
     }
 
+    public void setNextPaymentTime(LocalDateTime nextPaymentTime) {
+        if (nextPaymentTime == null) {
+            throw new IllegalArgumentException("Next payment time cannot be null.");
+        }
+        this.nextPaymentTime = nextPaymentTime;
+        changed();
+    }
+
+    public void setSettledState(long outstandingBalance, LocalDateTime nextPaymentTime) {
+        if (nextPaymentTime == null) {
+            throw new IllegalArgumentException("Next payment time cannot be null.");
+        }
+        this.outstandingBalance = outstandingBalance;
+        this.nextPaymentTime = nextPaymentTime;
+        changed();
+    }
+
     public void updateNextPaymentTime() {
         if (this.nextPaymentTime == null) {
             throw new IllegalArgumentException("Next payment time cannot be null.");
         }
 
         this.nextPaymentTime = this.nextPaymentTime.plusMonths(premiumPaymentFrequency.getValueInMonths());
+        changed();
     }
 }
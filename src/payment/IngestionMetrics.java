@@ -0,0 +1,97 @@
+package payment;
+
+import util.Log2Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class IngestionMetrics {
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+    private final AtomicLong backPressureWaits = new AtomicLong();
+    private final AtomicLong backPressureNanos = new AtomicLong();
+    private final AtomicLong maxLag = new AtomicLong();
+    private final Log2Histogram endToEndLatencies = new Log2Histogram();
+    private final Log2Histogram queueWaits = new Log2Histogram();
+
+    void recordReceived() {
+        long lag = received.incrementAndGet() - completed();
+        maxLag.accumulateAndGet(lag, Math::max);
+    }
+
+    void recordMalformed() {
+        malformed.incrementAndGet();
+    }
+
+    void recordBackPressure(long waitedNanos) {
+        backPressureWaits.incrementAndGet();
+        backPressureNanos.addAndGet(waitedNanos);
+    }
+
+    void recordCompleted(boolean success, long endToEndMillis, long queueWaitNanos) {
+        if (success) {
+            applied.incrementAndGet();
+        } else {
+            rejected.incrementAndGet();
+        }
+        endToEndLatencies.record(endToEndMillis);
+        queueWaits.record(queueWaitNanos);
+    }
+
+    private long completed() {
+        return applied.get() + rejected.get();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getApplied() {
+        return applied.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getMalformed() {
+        return malformed.get();
+    }
+
+    public long getLag() {
+        return received.get() - completed();
+    }
+
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    public long getBackPressureWaits() {
+        return backPressureWaits.get();
+    }
+
+    public long getBackPressureNanos() {
+        return backPressureNanos.get();
+    }
+
+    public long getMaxEndToEndMillis() {
+        return endToEndLatencies.getMax();
+    }
+
+    public long getEndToEndPercentileMillis(double percentile) {
+        return endToEndLatencies.getPercentile(percentile);
+    }
+
+    public long getQueueWaitPercentileNanos(double percentile) {
+        return queueWaits.getPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("received=%d applied=%d rejected=%d malformed=%d lag=%d maxLag=%d backPressure=%d/%.1fms e2e p50=%dms p99=%dms max=%dms",
+                getReceived(), getApplied(), getRejected(), getMalformed(), getLag(), getMaxLag(),
+                getBackPressureWaits(), getBackPressureNanos() / 1_000_000.0,
+                getEndToEndPercentileMillis(50), getEndToEndPercentileMillis(99), getMaxEndToEndMillis());
+    }
+}
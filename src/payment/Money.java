@@ -0,0 +1,112 @@
+package payment;
+
+import java.math.RoundingMode;
+import java.util.Currency;
+
+public final class Money {
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("EUR");
+
+    private Money() {
+    }
+
+    public static long add(long amount, long other) {
+        return Math.addExact(amount, other);
+    }
+
+    public static long subtract(long amount, long other) {
+        return Math.subtractExact(amount, other);
+    }
+
+    public static long multiply(long amount, long factor) {
+        return Math.multiplyExact(amount, factor);
+    }
+
+    public static long divide(long amount, long divisor, RoundingMode roundingMode) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (roundingMode == null) {
+            throw new IllegalArgumentException("Rounding mode cannot be null");
+        }
+
+        long quotient = amount / divisor;
+        long remainder = amount % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = (amount ^ divisor) < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        int half = Long.compare(absRemainder, Math.abs(divisor) - absRemainder);
+
+        switch (roundingMode) {
+            case DOWN:
+                return quotient;
+            case UP:
+                return quotient + sign;
+            case FLOOR:
+                return sign < 0 ? quotient - 1 : quotient;
+            case CEILING:
+                return sign > 0 ? quotient + 1 : quotient;
+            case HALF_UP:
+                return half >= 0 ? quotient + sign : quotient;
+            case HALF_DOWN:
+                return half > 0 ? quotient + sign : quotient;
+            case HALF_EVEN:
+                return half > 0 || (half == 0 && (quotient & 1) != 0) ? quotient + sign : quotient;
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            default:
+                throw new IllegalStateException("Unknown rounding mode");
+        }
+    }
+
+    public static long percent(long amount, long percent, RoundingMode roundingMode) {
+        return divide(multiply(amount, percent), 100, roundingMode);
+    }
+
+    public static long share(long amount, int parts, int index) {
+        if (parts <= 0 || index < 0 || index >= parts) {
+            throw new IllegalArgumentException("Share index is out of range");
+        }
+        long base = amount / parts;
+        long remainder = amount % parts;
+        return index < Math.abs(remainder) ? base + Long.signum(remainder) : base;
+    }
+
+    public static void requireSameCurrency(Currency expected, Currency actual) {
+        if (expected == null || actual == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        if (!expected.equals(actual)) {
+            throw new IllegalArgumentException("Currency mismatch: expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static long minorUnits(Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        long scale = 1;
+        for (int i = 0; i < currency.getDefaultFractionDigits(); i++) {
+            scale *= 10;
+        }
+        return scale;
+    }
+
+    public static String format(long amount, Currency currency) {
+        long scale = minorUnits(currency);
+        int digits = Math.max(currency.getDefaultFractionDigits(), 0);
+        if (digits == 0) {
+            return amount + " " + currency.getCurrencyCode();
+        }
+        String sign = amount < 0 ? "-" : "";
+        long units = Math.abs(amount / scale);
+        long fraction = Math.abs(amount % scale);
+        String fractionText = Long.toString(fraction);
+        while (fractionText.length() < digits) {
+            fractionText = "0" + fractionText;
+        }
+        return sign + units + "." + fractionText + " " + currency.getCurrencyCode();
+    }
+}
@@ -5,10 +5,11 @@ import contracts.AbstractContract;
 import contracts.InvalidContractException;
 import contracts.MasterVehicleContract;
 
-import java.util.HashMap;
+import java.util.Currency;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 public class PaymentHandler {
     private final Map<AbstractContract, Set<PaymentInstance>> paymentHistory;
@@ -19,26 +20,57 @@ public class PaymentHandler {
             throw new IllegalArgumentException("Insurance Company cannot be null");
         }
         this.insurer = insurer;
-        this.paymentHistory = new HashMap<>();
+        this.paymentHistory = new ConcurrentHashMap<>();
     }
 
     public Map<AbstractContract,Set<PaymentInstance>> getPaymentHistory() {
         return paymentHistory;
     }
 
-    public void pay(MasterVehicleContract contract, int amount) {
+    public void pay(MasterVehicleContract contract, long amount) {
+        if(contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if(!contract.isActive() || insurer != contract.getInsurer()){
+            throw new InvalidContractException("Contract is not active");
+        }
+        if (contract.getChildContracts().isEmpty()) {
+            throw new InvalidContractException("Contract has no child contracts");
+        }
+        for (AbstractContract childContract : contract.getChildContracts()) {
+            if (childContract.isActive()) {
+                pay(contract, amount, childContract.getContractPaymentData().getCurrency());
+                return;
+            }
+        }
+        throw new InvalidContractException("Contract has no active child contracts");
+    }
+
+    public void pay(MasterVehicleContract contract, long amount, Currency currency) {
         if(contract == null || amount <= 0) {
             throw new IllegalArgumentException("Contract cannot be null");
         }
+        if(currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
         if(!contract.isActive() || insurer != contract.getInsurer()){
             throw new InvalidContractException("Contract is not active");
         }
         if (contract.getChildContracts().isEmpty()) {
             throw new InvalidContractException("Contract has no child contracts");
         }
+        for (AbstractContract childContract : contract.getChildContracts()) {
+            if (childContract.isActive()) {
+                Money.requireSameCurrency(childContract.getContractPaymentData().getCurrency(), currency);
+            }
+        }
 
-        int paymentAmount = amount;
-        int remainingAmount = amount;
+        if (insurer.isLazyAccrual()) {
+            insurer.chargePremiumOnContract(contract);
+        }
+
+        long paymentAmount = amount;
+        long remainingAmount = amount;
 
         for (AbstractContract childContract : contract.getChildContracts()) {
             if (!childContract.isActive()) {
@@ -46,11 +78,11 @@ public class PaymentHandler {
             }
 
             ContractPaymentData paymentData = childContract.getContractPaymentData();
-            int outstandingBalance = paymentData.getOutstandingBalance();
+            long outstandingBalance = paymentData.getOutstandingBalance();
 
             if (outstandingBalance > 0) {
-                int paymentToApply = Math.min(remainingAmount, outstandingBalance);
-                paymentData.setOutstandingBalance(outstandingBalance - paymentToApply);
+                long paymentToApply = Math.min(remainingAmount, outstandingBalance);
+                paymentData.setOutstandingBalance(Money.subtract(outstandingBalance, paymentToApply));
                 remainingAmount -= paymentToApply;
 
                 if (remainingAmount == 0) {
@@ -66,10 +98,10 @@ public class PaymentHandler {
                     continue;
                 }
                 ContractPaymentData paymentData = childContract.getContractPaymentData();
-                int premium = paymentData.getPremium();
+                long premium = paymentData.getPremium();
                 if (premium > 0) {
-                    int paymentToApply = Math.min(remainingAmount, premium);
-                    paymentData.setOutstandingBalance(paymentData.getOutstandingBalance() - paymentToApply);
+                    long paymentToApply = Math.min(remainingAmount, premium);
+                    paymentData.setOutstandingBalance(Money.subtract(paymentData.getOutstandingBalance(), paymentToApply));
                     remainingAmount -= paymentToApply;
                     deducted = true;
                     if (remainingAmount == 0) {
@@ -82,11 +114,22 @@ public class PaymentHandler {
             }
         }
 
-        PaymentInstance paymentInstance = new PaymentInstance(insurer.getCurrentTime(), paymentAmount);
-        paymentHistory.computeIfAbsent(contract, k -> new TreeSet<>()).add(paymentInstance);
+        PaymentInstance paymentInstance = new PaymentInstance(insurer.getCurrentTime(), paymentAmount, currency);
+        paymentHistory.computeIfAbsent(contract, k -> new ConcurrentSkipListSet<>()).add(paymentInstance);
+        insurer.handleBalanceChange(contract);
     }
 
-    public void pay(AbstractContract contract, int amount){
+    public void pay(AbstractContract contract, long amount){
+        if(contract == null) {
+            throw new IllegalArgumentException("Contract cannot be null");
+        }
+        if(contract.getContractPaymentData() == null) {
+            throw new InvalidContractException("Contract has no payment data");
+        }
+        pay(contract, amount, contract.getContractPaymentData().getCurrency());
+    }
+
+    public void pay(AbstractContract contract, long amount, Currency currency){
         if(contract == null || amount <= 0) {
             throw new IllegalArgumentException("Contract cannot be null");
         }
@@ -95,11 +138,17 @@ public class PaymentHandler {
             throw new InvalidContractException("Contract is not active");
         }
 
+        if(insurer.isLazyAccrual()) {
+            insurer.chargePremiumOnContract(contract);
+        }
+
         ContractPaymentData paymentData = contract.getContractPaymentData();
-        paymentData.setOutstandingBalance(paymentData.getOutstandingBalance() - amount);
+        Money.requireSameCurrency(paymentData.getCurrency(), currency);
+        paymentData.setOutstandingBalance(Money.subtract(paymentData.getOutstandingBalance(), amount));
 
-        PaymentInstance paymentInstance = new PaymentInstance(insurer.getCurrentTime(), amount);
+        PaymentInstance paymentInstance = new PaymentInstance(insurer.getCurrentTime(), amount, currency);
 
-        paymentHistory.computeIfAbsent(contract, k -> new TreeSet<>()).add(paymentInstance);
+        paymentHistory.computeIfAbsent(contract, k -> new ConcurrentSkipListSet<>()).add(paymentInstance);
+        insurer.handleBalanceChange(contract);
     }
 }
@@ -0,0 +1,509 @@
+package payment;
+
+import company.InsuranceCompany;
+import contracts.AbstractContract;
+import contracts.InvalidContractException;
+import contracts.MasterVehicleContract;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PaymentIngestion implements AutoCloseable {
+    public static final int CONTRACT_NUMBER_LENGTH = 24;
+    public static final int AMOUNT_LENGTH = 16;
+    public static final int CURRENCY_LENGTH = 3;
+    public static final int TIMESTAMP_LENGTH = 16;
+    public static final int RECORD_LENGTH = CONTRACT_NUMBER_LENGTH + AMOUNT_LENGTH + CURRENCY_LENGTH + TIMESTAMP_LENGTH + 1;
+
+    private static final int AMOUNT_OFFSET = CONTRACT_NUMBER_LENGTH;
+    private static final int CURRENCY_OFFSET = AMOUNT_OFFSET + AMOUNT_LENGTH;
+    private static final int TIMESTAMP_OFFSET = CURRENCY_OFFSET + CURRENCY_LENGTH;
+    private static final int TERMINATOR_OFFSET = TIMESTAMP_OFFSET + TIMESTAMP_LENGTH;
+    private static final int RECORDS_PER_READ = 1024;
+
+    private static final PaymentRecord POISON = new PaymentRecord();
+
+    private final InsuranceCompany company;
+    private final BlockingQueue<PaymentRecord> freeRecords;
+    private final List<BlockingQueue<PaymentRecord>> partitions;
+    private final List<Thread> workers;
+    private final ExecutorService readers;
+    private final Set<Thread> activeReaders;
+    private final IngestionMetrics metrics;
+    private final AtomicLong dispatched;
+    private final AtomicLong completed;
+    private final Object drainLock;
+    private volatile boolean closed;
+
+    public PaymentIngestion(InsuranceCompany company, int partitionCount, int queueCapacity) {
+        if (company == null) {
+            throw new IllegalArgumentException("Insurance Company cannot be null");
+        }
+        if (partitionCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Partition count and queue capacity must be positive");
+        }
+        this.company = company;
+        this.metrics = new IngestionMetrics();
+        this.dispatched = new AtomicLong();
+        this.completed = new AtomicLong();
+        this.drainLock = new Object();
+        this.activeReaders = ConcurrentHashMap.newKeySet();
+        this.readers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "payment-ingestion-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int recordCount = partitionCount * queueCapacity;
+        this.freeRecords = new ArrayBlockingQueue<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            freeRecords.add(new PaymentRecord());
+        }
+
+        this.partitions = new ArrayList<>(partitionCount);
+        this.workers = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<PaymentRecord> queue = new ArrayBlockingQueue<>(queueCapacity + 1);
+            Thread worker = new Thread(() -> work(queue), "payment-ingestion-worker-" + i);
+            worker.setDaemon(true);
+            partitions.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public IngestionMetrics getMetrics() {
+        return metrics;
+    }
+
+    public CompletableFuture<Long> submit(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ingestion is closed");
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (ReadableByteChannel source = channel) {
+                return ingest(source);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, readers);
+    }
+
+    public CompletableFuture<Long> submitFile(Path path) throws IOException {
+        return submit(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public CompletableFuture<Long> submitSocket(SocketAddress address) throws IOException {
+        return submit(SocketChannel.open(address));
+    }
+
+    public long ingest(ReadableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ingestion is closed");
+        }
+
+        activeReaders.add(Thread.currentThread());
+        try {
+            if (closed) {
+                throw new IllegalStateException("Ingestion is closed");
+            }
+            return read(channel);
+        } finally {
+            activeReaders.remove(Thread.currentThread());
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
+    }
+
+    private long read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_LENGTH * RECORDS_PER_READ);
+        byte[] contractNumber = new byte[CONTRACT_NUMBER_LENGTH];
+        CurrencyCache currencies = new CurrencyCache();
+        ContractCache contracts = new ContractCache(company);
+        long records = 0;
+        boolean resynchronizing = false;
+
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Ingestion is closed");
+            }
+            int read = channel.read(buffer);
+            buffer.flip();
+            while (true) {
+                if (resynchronizing) {
+                    int newline = indexOfNewline(buffer);
+                    if (newline < 0) {
+                        buffer.position(buffer.limit());
+                        break;
+                    }
+                    buffer.position(newline + 1);
+                    resynchronizing = false;
+                }
+                if (buffer.remaining() < RECORD_LENGTH) {
+                    break;
+                }
+                int offset = buffer.position();
+                if (buffer.get(offset + TERMINATOR_OFFSET) != '\n') {
+                    metrics.recordMalformed();
+                    resynchronizing = true;
+                    continue;
+                }
+                if (dispatch(buffer, offset, contractNumber, currencies, contracts)) {
+                    records++;
+                }
+                buffer.position(offset + RECORD_LENGTH);
+            }
+            buffer.compact();
+            if (read < 0) {
+                break;
+            }
+        }
+
+        if (buffer.position() > 0) {
+            metrics.recordMalformed();
+        }
+        return records;
+    }
+
+    private boolean dispatch(ByteBuffer buffer, int offset, byte[] contractNumber, CurrencyCache currencies, ContractCache contracts) throws IOException {
+        long amount = parseDigits(buffer, offset + AMOUNT_OFFSET, AMOUNT_LENGTH);
+        long sentAtMillis = parseDigits(buffer, offset + TIMESTAMP_OFFSET, TIMESTAMP_LENGTH);
+        Currency currency = currencies.get(buffer, offset + CURRENCY_OFFSET);
+        int contractNumberLength = copyContractNumber(buffer, offset, contractNumber);
+        if (amount <= 0 || sentAtMillis < 0 || currency == null || contractNumberLength == 0) {
+            metrics.recordMalformed();
+            return false;
+        }
+
+        metrics.recordReceived();
+        AbstractContract contract = contracts.get(contractNumber, contractNumberLength);
+        if (contract == null) {
+            metrics.recordCompleted(false, System.currentTimeMillis() - sentAtMillis, 0);
+            return true;
+        }
+
+        PaymentRecord record = acquireRecord();
+        record.contract = contract;
+        record.amount = amount;
+        record.currency = currency;
+        record.sentAtMillis = sentAtMillis;
+        record.enqueuedNanos = System.nanoTime();
+
+        BlockingQueue<PaymentRecord> partition = partitions.get(Math.floorMod(contract.getPolicyHolder().getId().hashCode(), partitions.size()));
+        dispatched.incrementAndGet();
+        try {
+            partition.put(record);
+        } catch (InterruptedException e) {
+            dispatched.decrementAndGet();
+            metrics.recordCompleted(false, System.currentTimeMillis() - sentAtMillis, 0);
+            record.contract = null;
+            record.currency = null;
+            freeRecords.offer(record);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while dispatching payment");
+        }
+        return true;
+    }
+
+    private static int indexOfNewline(ByteBuffer buffer) {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private PaymentRecord acquireRecord() throws InterruptedIOException {
+        PaymentRecord record = freeRecords.poll();
+        if (record != null) {
+            return record;
+        }
+        long waitStart = System.nanoTime();
+        try {
+            record = freeRecords.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free payment buffer");
+        }
+        metrics.recordBackPressure(System.nanoTime() - waitStart);
+        return record;
+    }
+
+    private void work(BlockingQueue<PaymentRecord> queue) {
+        while (true) {
+            PaymentRecord record;
+            try {
+                record = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (record == POISON) {
+                return;
+            }
+
+            boolean success = apply(record);
+            metrics.recordCompleted(success, System.currentTimeMillis() - record.sentAtMillis, System.nanoTime() - record.enqueuedNanos);
+            record.contract = null;
+            record.currency = null;
+            freeRecords.offer(record);
+
+            if (completed.incrementAndGet() == dispatched.get()) {
+                synchronized (drainLock) {
+                    drainLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private boolean apply(PaymentRecord record) {
+        PaymentHandler handler = company.getHandler();
+        try {
+            if (record.contract instanceof MasterVehicleContract) {
+                handler.pay((MasterVehicleContract) record.contract, record.amount, record.currency);
+            } else {
+                handler.pay(record.contract, record.amount, record.currency);
+            }
+            return true;
+        } catch (IllegalArgumentException | InvalidContractException | ArithmeticException e) {
+            return false;
+        }
+    }
+
+    public void awaitDrained() throws InterruptedException {
+        synchronized (drainLock) {
+            while (completed.get() < dispatched.get()) {
+                drainLock.wait(10);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        readers.shutdownNow();
+        for (Thread reader : activeReaders) {
+            reader.interrupt();
+        }
+
+        boolean interrupted = false;
+        synchronized (drainLock) {
+            while (!activeReaders.isEmpty()) {
+                try {
+                    drainLock.wait(10);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (BlockingQueue<PaymentRecord> partition : partitions) {
+            while (true) {
+                try {
+                    partition.put(POISON);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void encode(ByteBuffer target, String contractNumber, long amount, Currency currency, long sentAtMillis) {
+        if (target == null || contractNumber == null || currency == null) {
+            throw new IllegalArgumentException("Target, contract number and currency cannot be null");
+        }
+        if (contractNumber.isEmpty() || contractNumber.length() > CONTRACT_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Contract number does not fit the record");
+        }
+        if (amount <= 0 || sentAtMillis < 0) {
+            throw new IllegalArgumentException("Amount must be positive and timestamp cannot be negative");
+        }
+        writePadded(target, contractNumber, CONTRACT_NUMBER_LENGTH);
+        writeDigits(target, amount, AMOUNT_LENGTH);
+        writePadded(target, currency.getCurrencyCode(), CURRENCY_LENGTH);
+        writeDigits(target, sentAtMillis, TIMESTAMP_LENGTH);
+        target.put((byte) '\n');
+    }
+
+    private static void writePadded(ByteBuffer target, String value, int length) {
+        for (int i = 0; i < length; i++) {
+            target.put((byte) (i < value.length() ? value.charAt(i) : ' '));
+        }
+    }
+
+    private static void writeDigits(ByteBuffer target, long value, int length) {
+        String digits = Long.toString(value);
+        if (digits.length() > length) {
+            throw new IllegalArgumentException("Value does not fit the record");
+        }
+        for (int i = digits.length(); i < length; i++) {
+            target.put((byte) '0');
+        }
+        for (int i = 0; i < digits.length(); i++) {
+            target.put((byte) digits.charAt(i));
+        }
+    }
+
+    private static long parseDigits(ByteBuffer buffer, int offset, int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = buffer.get(offset + i) - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int copyContractNumber(ByteBuffer buffer, int offset, byte[] target) {
+        int length = CONTRACT_NUMBER_LENGTH;
+        while (length > 0 && buffer.get(offset + length - 1) == ' ') {
+            length--;
+        }
+        for (int i = 0; i < length; i++) {
+            target[i] = buffer.get(offset + i);
+        }
+        return length;
+    }
+
+    private static final class PaymentRecord {
+        private AbstractContract contract;
+        private long amount;
+        private Currency currency;
+        private long sentAtMillis;
+        private long enqueuedNanos;
+    }
+
+    private static final class CurrencyCache {
+        private int code = -1;
+        private Currency currency;
+
+        private Currency get(ByteBuffer buffer, int offset) {
+            int packed = 0;
+            for (int i = 0; i < CURRENCY_LENGTH; i++) {
+                byte character = buffer.get(offset + i);
+                if (character < 'A' || character > 'Z') {
+                    return null;
+                }
+                packed = packed << 8 | character;
+            }
+            if (packed != code) {
+                try {
+                    currency = Currency.getInstance(new String(new char[]{(char) (packed >> 16), (char) (packed >> 8 & 0xFF), (char) (packed & 0xFF)}));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+                code = packed;
+            }
+            return currency;
+        }
+    }
+
+    private static final class ContractCache {
+        private static final int MINIMUM_CAPACITY = 64;
+
+        private final InsuranceCompany company;
+        private byte[][] keys;
+        private AbstractContract[] contracts;
+        private int size;
+
+        private ContractCache(InsuranceCompany company) {
+            this.company = company;
+            this.keys = new byte[MINIMUM_CAPACITY][];
+            this.contracts = new AbstractContract[MINIMUM_CAPACITY];
+        }
+
+        private AbstractContract get(byte[] contractNumber, int length) {
+            int mask = keys.length - 1;
+            for (int index = hash(contractNumber, length) & mask; keys[index] != null; index = (index + 1) & mask) {
+                if (Arrays.equals(keys[index], 0, keys[index].length, contractNumber, 0, length)) {
+                    return contracts[index];
+                }
+            }
+
+            AbstractContract contract = company.findContract(new String(contractNumber, 0, length, StandardCharsets.US_ASCII));
+            if (contract != null) {
+                put(Arrays.copyOf(contractNumber, length), contract);
+            }
+            return contract;
+        }
+
+        private void put(byte[] key, AbstractContract contract) {
+            if ((size + 1) * 2 > keys.length) {
+                byte[][] oldKeys = keys;
+                AbstractContract[] oldContracts = contracts;
+                keys = new byte[oldKeys.length * 2][];
+                contracts = new AbstractContract[oldKeys.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != null) {
+                        insert(oldKeys[i], oldContracts[i]);
+                    }
+                }
+            }
+            insert(key, contract);
+            size++;
+        }
+
+        private void insert(byte[] key, AbstractContract contract) {
+            int mask = keys.length - 1;
+            int index = hash(key, key.length) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            contracts[index] = contract;
+        }
+
+        private static int hash(byte[] bytes, int length) {
+            int hash = 1;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -3,29 +3,53 @@ package payment;
 import contracts.AbstractContract;
 
 import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PaymentInstance implements Comparable<PaymentInstance>{
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     private final LocalDateTime paymentTime;
-    private final int paymentAmount;
+    private final long paymentAmount;
+    private final Currency currency;
+    private final long sequenceNumber;
+
+    public PaymentInstance(LocalDateTime paymentTime, long paymentAmount) {
+        this(paymentTime, paymentAmount, Money.DEFAULT_CURRENCY);
+    }
 
-    public PaymentInstance(LocalDateTime paymentTime, int paymentAmount) {
+    public PaymentInstance(LocalDateTime paymentTime, long paymentAmount, Currency currency) {
         if(paymentTime == null || paymentAmount <= 0){
             throw new IllegalArgumentException("Payment amount must be positive.");
         }
+        if(currency == null){
+            throw new IllegalArgumentException("Currency cannot be null.");
+        }
         this.paymentTime = paymentTime;
         this.paymentAmount = paymentAmount;
+        this.currency = currency;
+        this.sequenceNumber = SEQUENCE.getAndIncrement();
     }
 
     public LocalDateTime getPaymentTime() {
         return paymentTime;
     }
 
-    public int getPaymentAmount() {
+    public long getPaymentAmount() {
         return paymentAmount;
     }
 
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
     @Override
     public int compareTo(PaymentInstance other) {
-        return this.paymentTime.compareTo(other.paymentTime);
+        int byTime = this.paymentTime.compareTo(other.paymentTime);
+        return byTime != 0 ? byTime : Long.compare(this.sequenceNumber, other.sequenceNumber);
     }
 }
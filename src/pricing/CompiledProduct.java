@@ -0,0 +1,31 @@
+package pricing;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+final class CompiledProduct implements ProductEvaluator {
+    private static final MethodHandle ELIGIBILITY = classData(0);
+    private static final MethodHandle MINIMUM_ANNUAL_PREMIUM = classData(1);
+    private static final MethodHandle COVERAGE = classData(2);
+
+    private static MethodHandle classData(int index) {
+        try {
+            return MethodHandles.classDataAt(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class, index);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Rule class data is not accessible", e);
+        }
+    }
+
+    @Override
+    public Quote quote(String product, long annualPremium, long[] variables) {
+        try {
+            return new Quote(product, (long) ELIGIBILITY.invokeExact(variables) != 0, annualPremium,
+                    (long) MINIMUM_ANNUAL_PREMIUM.invokeExact(variables), (long) COVERAGE.invokeExact(variables));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Rule evaluation failed", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package pricing;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.ToLongFunction;
+
+final class CompiledRule implements ToLongFunction<long[]> {
+    private static final MethodHandle HANDLE = classData();
+
+    private static MethodHandle classData() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Rule class data is not accessible", e);
+        }
+    }
+
+    @Override
+    public long applyAsLong(long[] variables) {
+        try {
+            return (long) HANDLE.invokeExact(variables);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Rule evaluation failed", e);
+        }
+    }
+}
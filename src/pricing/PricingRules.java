@@ -0,0 +1,131 @@
+package pricing;
+
+import payment.Money;
+import payment.PremiumPaymentFrequency;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class PricingRules {
+    public static final String VEHICLE = "vehicle";
+    public static final String TRAVEL = "travel";
+
+    private final Map<String, ProductRules> products;
+
+    public PricingRules(Collection<ProductRules> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("Products cannot be null");
+        }
+        Map<String, ProductRules> byName = new LinkedHashMap<>();
+        for (ProductRules product : products) {
+            if (byName.put(product.getProduct(), product) != null) {
+                throw new IllegalArgumentException("Duplicate product " + product.getProduct());
+            }
+        }
+        this.products = Collections.unmodifiableMap(byName);
+    }
+
+    public static PricingRules defaults() {
+        List<ProductRules> products = new ArrayList<>();
+        products.add(new ProductRules(VEHICLE, "value > 0", "ceilDiv(value * 2, 100)", "value / 2"));
+        products.add(new ProductRules(TRAVEL, "persons > 0", "persons * 5", "persons * 10"));
+        return new PricingRules(products);
+    }
+
+    public static PricingRules load(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static PricingRules fromProperties(Properties properties) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Properties cannot be null");
+        }
+        Map<String, String[]> rules = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.lastIndexOf('.');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid rule key " + key);
+            }
+            String product = key.substring(0, separator);
+            String[] expressions = rules.computeIfAbsent(product, k -> new String[3]);
+            switch (key.substring(separator + 1)) {
+                case "eligible":
+                    expressions[0] = properties.getProperty(key);
+                    break;
+                case "minimumAnnualPremium":
+                    expressions[1] = properties.getProperty(key);
+                    break;
+                case "coverage":
+                    expressions[2] = properties.getProperty(key);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown rule " + key);
+            }
+        }
+
+        List<ProductRules> products = new ArrayList<>();
+        for (Map.Entry<String, String[]> entry : rules.entrySet()) {
+            String[] expressions = entry.getValue();
+            products.add(new ProductRules(entry.getKey(), expressions[0], expressions[1], expressions[2]));
+        }
+        return new PricingRules(products);
+    }
+
+    public ProductRules getProduct(String product) {
+        ProductRules rules = products.get(product);
+        if (rules == null) {
+            throw new IllegalArgumentException("Unknown product " + product);
+        }
+        return rules;
+    }
+
+    public Collection<ProductRules> getProducts() {
+        return products.values();
+    }
+
+    public Quote quote(String product, long premium, PremiumPaymentFrequency frequency, long value, int persons) {
+        return getProduct(product).quote(premium, frequency, value, persons);
+    }
+
+    public Quote quote(String product, long premium, PremiumPaymentFrequency frequency, long value, int persons, Currency currency) {
+        return getProduct(product).quote(premium, frequency, value, persons, currency);
+    }
+
+    public List<Quote> quoteAll(String product, List<QuoteRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        ProductRules rules = getProduct(product);
+        long[] variables = new long[ProductRules.VARIABLES.size()];
+        List<Quote> quotes = new ArrayList<>(requests.size());
+        Currency currency = null;
+        long unit = 0;
+        for (QuoteRequest request : requests) {
+            if (request.getCurrency() != currency) {
+                currency = request.getCurrency();
+                unit = Money.minorUnits(currency);
+            }
+            quotes.add(rules.quote(request.getPremium(), request.getFrequency(), request.getValue(), request.getPersons(),
+                    unit, variables));
+        }
+        return quotes;
+    }
+}
@@ -0,0 +1,5 @@
+package pricing;
+
+interface ProductEvaluator {
+    Quote quote(String product, long annualPremium, long[] variables);
+}
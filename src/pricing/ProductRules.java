@@ -0,0 +1,87 @@
+package pricing;
+
+import payment.Money;
+import payment.PremiumPaymentFrequency;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+
+public class ProductRules {
+    public static final List<String> VARIABLES = Collections.unmodifiableList(Arrays.asList(
+            "value", "persons", "premium", "paymentsPerYear", "annualPremium", "unit"));
+
+    private static final int VALUE = 0;
+    private static final int PERSONS = 1;
+    private static final int PREMIUM = 2;
+    private static final int PAYMENTS_PER_YEAR = 3;
+    private static final int ANNUAL_PREMIUM = 4;
+    private static final int UNIT = 5;
+
+    private final String product;
+    private final RuleExpression eligibility;
+    private final RuleExpression minimumAnnualPremium;
+    private final RuleExpression coverage;
+    private final ProductEvaluator evaluator;
+
+    public ProductRules(String product, String eligibility, String minimumAnnualPremium, String coverage) {
+        if (product == null || product.isEmpty()) {
+            throw new IllegalArgumentException("Product cannot be null or empty");
+        }
+        if (minimumAnnualPremium == null || coverage == null) {
+            throw new IllegalArgumentException("Minimum annual premium and coverage rules are required for " + product);
+        }
+        this.product = product;
+        this.eligibility = RuleCompiler.compile(eligibility == null ? "1" : eligibility, VARIABLES);
+        this.minimumAnnualPremium = RuleCompiler.compile(minimumAnnualPremium, VARIABLES);
+        this.coverage = RuleCompiler.compile(coverage, VARIABLES);
+        this.evaluator = RuleCompiler.link(this.eligibility, this.minimumAnnualPremium, this.coverage);
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public RuleExpression getEligibility() {
+        return eligibility;
+    }
+
+    public RuleExpression getMinimumAnnualPremium() {
+        return minimumAnnualPremium;
+    }
+
+    public RuleExpression getCoverage() {
+        return coverage;
+    }
+
+    public Quote quote(long premium, PremiumPaymentFrequency frequency, long value, int persons) {
+        return quote(premium, frequency, value, persons, Money.DEFAULT_CURRENCY);
+    }
+
+    public Quote quote(long premium, PremiumPaymentFrequency frequency, long value, int persons, Currency currency) {
+        return quote(premium, frequency, value, persons, Money.minorUnits(currency), new long[VARIABLES.size()]);
+    }
+
+    Quote quote(long premium, PremiumPaymentFrequency frequency, long value, int persons, long unit, long[] variables) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Proposed payment frequency cannot be null.");
+        }
+        long paymentsPerYear = 12 / frequency.getValueInMonths();
+        long annualPremium = Money.multiply(premium, paymentsPerYear);
+
+        variables[VALUE] = value;
+        variables[PERSONS] = persons;
+        variables[PREMIUM] = premium;
+        variables[PAYMENTS_PER_YEAR] = paymentsPerYear;
+        variables[ANNUAL_PREMIUM] = annualPremium;
+        variables[UNIT] = unit;
+
+        try {
+            return evaluator.quote(product, annualPremium, variables);
+        } catch (IllegalStateException e) {
+            return new Quote(product, eligibility.evaluate(variables) != 0, annualPremium,
+                    minimumAnnualPremium.evaluate(variables), coverage.evaluate(variables));
+        }
+    }
+}
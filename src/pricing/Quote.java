@@ -0,0 +1,41 @@
+package pricing;
+
+public final class Quote {
+    private final String product;
+    private final boolean eligible;
+    private final long annualPremium;
+    private final long minimumAnnualPremium;
+    private final long coverageAmount;
+
+    public Quote(String product, boolean eligible, long annualPremium, long minimumAnnualPremium, long coverageAmount) {
+        this.product = product;
+        this.eligible = eligible;
+        this.annualPremium = annualPremium;
+        this.minimumAnnualPremium = minimumAnnualPremium;
+        this.coverageAmount = coverageAmount;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public boolean isEligible() {
+        return eligible;
+    }
+
+    public long getAnnualPremium() {
+        return annualPremium;
+    }
+
+    public long getMinimumAnnualPremium() {
+        return minimumAnnualPremium;
+    }
+
+    public long getCoverageAmount() {
+        return coverageAmount;
+    }
+
+    public boolean isAcceptable() {
+        return eligible && annualPremium >= minimumAnnualPremium;
+    }
+}
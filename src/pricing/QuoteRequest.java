@@ -0,0 +1,52 @@
+package pricing;
+
+import payment.Money;
+import payment.PremiumPaymentFrequency;
+
+import java.util.Currency;
+
+public final class QuoteRequest {
+    private final long premium;
+    private final PremiumPaymentFrequency frequency;
+    private final long value;
+    private final int persons;
+    private final Currency currency;
+
+    public QuoteRequest(long premium, PremiumPaymentFrequency frequency, long value, int persons) {
+        this(premium, frequency, value, persons, Money.DEFAULT_CURRENCY);
+    }
+
+    public QuoteRequest(long premium, PremiumPaymentFrequency frequency, long value, int persons, Currency currency) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Proposed payment frequency cannot be null.");
+        }
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        this.premium = premium;
+        this.frequency = frequency;
+        this.value = value;
+        this.persons = persons;
+        this.currency = currency;
+    }
+
+    public long getPremium() {
+        return premium;
+    }
+
+    public PremiumPaymentFrequency getFrequency() {
+        return frequency;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public int getPersons() {
+        return persons;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+}
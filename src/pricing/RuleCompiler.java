@@ -0,0 +1,330 @@
+package pricing;
+
+import payment.Money;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public class RuleCompiler {
+    private static final MethodType BINARY = MethodType.methodType(long.class, long.class, long.class);
+    private static final MethodType UNARY = MethodType.methodType(long.class, long.class);
+    private static final MethodType RULE = MethodType.methodType(long.class, long[].class);
+    private static final byte[] TEMPLATE = loadTemplate(CompiledRule.class);
+    private static final byte[] PRODUCT_TEMPLATE = loadTemplate(CompiledProduct.class);
+
+    private final String source;
+    private final List<String> variables;
+    private int position;
+
+    private RuleCompiler(String source, List<String> variables) {
+        this.source = source;
+        this.variables = variables;
+    }
+
+    public static RuleExpression compile(String source, List<String> variables) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Rule cannot be null or empty");
+        }
+        if (variables == null) {
+            throw new IllegalArgumentException("Variables cannot be null");
+        }
+        RuleCompiler compiler = new RuleCompiler(source, variables);
+        MethodHandle handle = compiler.parseOr();
+        compiler.skipWhitespace();
+        if (compiler.position != source.length()) {
+            throw compiler.error("Unexpected input");
+        }
+        return new RuleExpression(source, handle, link(handle));
+    }
+
+    static ProductEvaluator link(RuleExpression eligibility, RuleExpression minimumAnnualPremium, RuleExpression coverage) {
+        if (PRODUCT_TEMPLATE != null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(PRODUCT_TEMPLATE,
+                        List.of(eligibility.getHandle(), minimumAnnualPremium.getHandle(), coverage.getHandle()), true);
+                return (ProductEvaluator) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Product rules could not be linked", e);
+            }
+        }
+        return (product, annualPremium, variables) -> new Quote(product, eligibility.evaluate(variables) != 0, annualPremium,
+                minimumAnnualPremium.evaluate(variables), coverage.evaluate(variables));
+    }
+
+    private static byte[] loadTemplate(Class<?> template) {
+        try (InputStream in = template.getResourceAsStream(template.getSimpleName() + ".class")) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ToLongFunction<long[]> link(MethodHandle handle) {
+        if (TEMPLATE != null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, handle, true);
+                return (ToLongFunction<long[]>) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Rule could not be linked", e);
+            }
+        }
+        return variables -> {
+            try {
+                return (long) handle.invokeExact(variables);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Rule evaluation failed", e);
+            }
+        };
+    }
+
+    private MethodHandle parseOr() {
+        MethodHandle left = parseAnd();
+        while (consume("||")) {
+            left = combine("or", left, parseAnd());
+        }
+        return left;
+    }
+
+    private MethodHandle parseAnd() {
+        MethodHandle left = parseComparison();
+        while (consume("&&")) {
+            left = combine("and", left, parseComparison());
+        }
+        return left;
+    }
+
+    private MethodHandle parseComparison() {
+        MethodHandle left = parseAdditive();
+        if (consume(">=")) {
+            return combine("greaterOrEqual", left, parseAdditive());
+        }
+        if (consume("<=")) {
+            return combine("lessOrEqual", left, parseAdditive());
+        }
+        if (consume("==")) {
+            return combine("equal", left, parseAdditive());
+        }
+        if (consume("!=")) {
+            return combine("notEqual", left, parseAdditive());
+        }
+        if (consume(">")) {
+            return combine("greater", left, parseAdditive());
+        }
+        if (consume("<")) {
+            return combine("less", left, parseAdditive());
+        }
+        return left;
+    }
+
+    private MethodHandle parseAdditive() {
+        MethodHandle left = parseMultiplicative();
+        while (true) {
+            if (consume("+")) {
+                left = combine("add", left, parseMultiplicative());
+            } else if (consume("-")) {
+                left = combine("subtract", left, parseMultiplicative());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private MethodHandle parseMultiplicative() {
+        MethodHandle left = parseUnary();
+        while (true) {
+            if (consume("*")) {
+                left = combine("multiply", left, parseUnary());
+            } else if (consume("/")) {
+                left = combine("divide", left, parseUnary());
+            } else if (consume("%")) {
+                left = combine("remainder", left, parseUnary());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private MethodHandle parseUnary() {
+        if (consume("-")) {
+            return MethodHandles.filterReturnValue(parseUnary(), helper("negate", UNARY));
+        }
+        if (consume("!")) {
+            return MethodHandles.filterReturnValue(parseUnary(), helper("not", UNARY));
+        }
+        return parsePrimary();
+    }
+
+    private MethodHandle parsePrimary() {
+        skipWhitespace();
+        if (consume("(")) {
+            MethodHandle inner = parseOr();
+            expect(")");
+            return inner;
+        }
+
+        int start = position;
+        if (position < source.length() && Character.isDigit(source.charAt(position))) {
+            while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                position++;
+            }
+            long value;
+            try {
+                value = Long.parseLong(source.substring(start, position).replace("_", ""));
+            } catch (NumberFormatException e) {
+                throw error("Invalid number");
+            }
+            return MethodHandles.dropArguments(MethodHandles.constant(long.class, value), 0, long[].class);
+        }
+
+        if (position < source.length() && Character.isJavaIdentifierStart(source.charAt(position))) {
+            while (position < source.length() && Character.isJavaIdentifierPart(source.charAt(position))) {
+                position++;
+            }
+            String name = source.substring(start, position);
+            if (consume("(")) {
+                if (!name.equals("min") && !name.equals("max") && !name.equals("ceilDiv")) {
+                    throw error("Unknown function " + name);
+                }
+                MethodHandle first = parseOr();
+                expect(",");
+                MethodHandle second = parseOr();
+                expect(")");
+                return combine(name, first, second);
+            }
+
+            int index = variables.indexOf(name);
+            if (index < 0) {
+                throw error("Unknown variable " + name);
+            }
+            return MethodHandles.insertArguments(MethodHandles.arrayElementGetter(long[].class), 1, index);
+        }
+
+        throw error("Expected number, variable or '('");
+    }
+
+    private MethodHandle combine(String operation, MethodHandle left, MethodHandle right) {
+        MethodHandle both = MethodHandles.filterArguments(helper(operation, BINARY), 0, left, right);
+        return MethodHandles.permuteArguments(both, RULE, 0, 0);
+    }
+
+    private static MethodHandle helper(String name, MethodType type) {
+        try {
+            return MethodHandles.lookup().findStatic(RuleCompiler.class, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Missing rule operation " + name, e);
+        }
+    }
+
+    private boolean consume(String token) {
+        skipWhitespace();
+        if (source.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!consume(token)) {
+            throw error("Expected '" + token + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in rule: " + source);
+    }
+
+    private static long add(long left, long right) {
+        return Money.add(left, right);
+    }
+
+    private static long subtract(long left, long right) {
+        return Money.subtract(left, right);
+    }
+
+    private static long multiply(long left, long right) {
+        return Money.multiply(left, right);
+    }
+
+    private static long divide(long left, long right) {
+        return Money.divide(left, right, RoundingMode.DOWN);
+    }
+
+    private static long ceilDiv(long left, long right) {
+        return Money.divide(left, right, RoundingMode.CEILING);
+    }
+
+    private static long remainder(long left, long right) {
+        if (right == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return left % right;
+    }
+
+    private static long min(long left, long right) {
+        return Math.min(left, right);
+    }
+
+    private static long max(long left, long right) {
+        return Math.max(left, right);
+    }
+
+    private static long negate(long value) {
+        return Math.negateExact(value);
+    }
+
+    private static long not(long value) {
+        return value == 0 ? 1 : 0;
+    }
+
+    private static long and(long left, long right) {
+        return left != 0 && right != 0 ? 1 : 0;
+    }
+
+    private static long or(long left, long right) {
+        return left != 0 || right != 0 ? 1 : 0;
+    }
+
+    private static long greaterOrEqual(long left, long right) {
+        return left >= right ? 1 : 0;
+    }
+
+    private static long lessOrEqual(long left, long right) {
+        return left <= right ? 1 : 0;
+    }
+
+    private static long greater(long left, long right) {
+        return left > right ? 1 : 0;
+    }
+
+    private static long less(long left, long right) {
+        return left < right ? 1 : 0;
+    }
+
+    private static long equal(long left, long right) {
+        return left == right ? 1 : 0;
+    }
+
+    private static long notEqual(long left, long right) {
+        return left != right ? 1 : 0;
+    }
+}
@@ -0,0 +1,37 @@
+package pricing;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.ToLongFunction;
+
+public final class RuleExpression {
+    private final String source;
+    private final MethodHandle handle;
+    private final ToLongFunction<long[]> evaluator;
+
+    RuleExpression(String source, MethodHandle handle, ToLongFunction<long[]> evaluator) {
+        this.source = source;
+        this.handle = handle;
+        this.evaluator = evaluator;
+    }
+
+    public long evaluate(long[] variables) {
+        try {
+            return evaluator.applyAsLong(variables);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Rule evaluation failed: " + source, e);
+        }
+    }
+
+    MethodHandle getHandle() {
+        return handle;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,155 @@
+package workload;
+
+import company.BillingColumns;
+import company.InsuranceCompany;
+import contracts.AbstractContract;
+import contracts.MasterVehicleContract;
+import contracts.SingleVehicleContract;
+import payment.ContractPaymentData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class BillingDriver {
+    private final List<InsuranceCompany> companies;
+    private final List<String> names;
+
+    public BillingDriver() {
+        this.companies = new ArrayList<>();
+        this.names = new ArrayList<>();
+    }
+
+    public void addCompany(String name, InsuranceCompany company) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+        if (company == null) {
+            throw new IllegalArgumentException("Insurance Company cannot be null");
+        }
+        names.add(name);
+        companies.add(company);
+    }
+
+    public void book(WorkloadGenerator generator, int eventsPerDay) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator cannot be null");
+        }
+        if (eventsPerDay <= 0) {
+            throw new IllegalArgumentException("Events per day must be positive");
+        }
+        for (InsuranceCompany company : companies) {
+            ReplayDriver driver = new ReplayDriver(company, (int) Math.min(Integer.MAX_VALUE, generator.getContractCount() / 2));
+            driver.replay("book", daily(company, generator.book(), eventsPerDay));
+        }
+    }
+
+    public List<PhaseMetrics> charge(int runs) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Runs must be positive");
+        }
+        List<PhaseMetrics> results = new ArrayList<>(companies.size());
+        for (String name : names) {
+            results.add(new PhaseMetrics(name));
+        }
+
+        for (int run = 0; run < runs; run++) {
+            for (int i = 0; i < companies.size(); i++) {
+                InsuranceCompany company = companies.get(i);
+                company.setCurrentTime(company.getCurrentTime().plusMonths(1));
+                long start = System.nanoTime();
+                company.chargePremiumsOnContracts();
+                long elapsed = System.nanoTime() - start;
+                results.get(i).recordEvent(elapsed, false);
+                results.get(i).setElapsedNanos(results.get(i).getElapsedNanos() + elapsed);
+            }
+        }
+        return results;
+    }
+
+    public boolean isConsistent() {
+        InsuranceCompany reference = companies.get(0);
+        for (AbstractContract contract : reference.getContracts()) {
+            if (contract instanceof MasterVehicleContract) {
+                for (SingleVehicleContract childContract : ((MasterVehicleContract) contract).getChildContracts()) {
+                    if (!isConsistent(childContract)) {
+                        return false;
+                    }
+                }
+            } else if (!isConsistent(contract)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isConsistent(AbstractContract expected) {
+        ContractPaymentData expectedPaymentData = expected.getContractPaymentData();
+        for (int i = 1; i < companies.size(); i++) {
+            AbstractContract actual = companies.get(i).findContract(expected.getContractNumber());
+            if (actual == null || actual.isActive() != expected.isActive()) {
+                return false;
+            }
+            ContractPaymentData actualPaymentData = actual.getContractPaymentData();
+            if (actualPaymentData.getOutstandingBalance() != expectedPaymentData.getOutstandingBalance()
+                    || !Objects.equals(actualPaymentData.getNextPaymentTime(), expectedPaymentData.getNextPaymentTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Iterator<WorkloadEvent> daily(InsuranceCompany company, Iterator<WorkloadEvent> events, int eventsPerDay) {
+        return new Iterator<>() {
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return events.hasNext();
+            }
+
+            @Override
+            public WorkloadEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (position > 0 && position % eventsPerDay == 0) {
+                    company.setCurrentTime(company.getCurrentTime().plusDays(1));
+                }
+                position++;
+                return events.next();
+            }
+        };
+    }
+
+    public static void main(String[] args) {
+        long contractCount = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        LocalDateTime start = LocalDateTime.of(2024, 1, 29, 9, 30);
+
+        BillingDriver driver = new BillingDriver();
+        driver.addCompany("eager", new InsuranceCompany(start));
+
+        InsuranceCompany scalar = new InsuranceCompany(start);
+        scalar.setColumnarBilling(true);
+        scalar.getBillingColumns().setVectorized(false);
+        driver.addCompany("columnar-scalar", scalar);
+
+        if (BillingColumns.isVectorAvailable()) {
+            InsuranceCompany vector = new InsuranceCompany(start);
+            vector.setColumnarBilling(true);
+            vector.getBillingColumns().setVectorized(true);
+            driver.addCompany("columnar-vector", vector);
+        }
+
+        driver.book(new WorkloadGenerator(seed, contractCount), (int) Math.max(1, contractCount / 30));
+        for (PhaseMetrics metrics : driver.charge(runs)) {
+            System.out.println(metrics);
+        }
+        System.out.println("consistent=" + driver.isConsistent());
+    }
+}
@@ -0,0 +1,122 @@
+package workload;
+
+import payment.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+public class MoneyDriver {
+    private final long[] premiums;
+    private final double[] doublePremiums;
+    private final BigDecimal[] decimalPremiums;
+
+    public MoneyDriver(int count, long seed) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        this.premiums = new long[count];
+        this.doublePremiums = new double[count];
+        this.decimalPremiums = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            premiums[i] = 1 + random.nextLong(100_000);
+            doublePremiums[i] = premiums[i] / 100.0;
+            decimalPremiums[i] = BigDecimal.valueOf(premiums[i], 2);
+        }
+    }
+
+    public PhaseMetrics runMinorUnits(int rounds) {
+        PhaseMetrics metrics = new PhaseMetrics("long-minor-units");
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long roundStart = System.nanoTime();
+            long total = 0;
+            long fees = 0;
+            for (long premium : premiums) {
+                total = Money.add(total, premium);
+                fees = Money.add(fees, Money.percent(premium, 3, RoundingMode.HALF_EVEN));
+            }
+            checksum += Money.share(Money.subtract(total, fees), 3, round % 3);
+            metrics.recordEvent(System.nanoTime() - roundStart, false);
+        }
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        System.out.println(metrics.getName() + " checksum=" + checksum);
+        return metrics;
+    }
+
+    public PhaseMetrics runDouble(int rounds) {
+        PhaseMetrics metrics = new PhaseMetrics("double");
+        long start = System.nanoTime();
+        double checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long roundStart = System.nanoTime();
+            double total = 0;
+            double fees = 0;
+            for (double premium : doublePremiums) {
+                total += premium;
+                fees += Math.rint(premium * 3) / 100;
+            }
+            checksum += (total - fees) / 3;
+            metrics.recordEvent(System.nanoTime() - roundStart, false);
+        }
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        System.out.println(metrics.getName() + " checksum=" + checksum);
+        return metrics;
+    }
+
+    public PhaseMetrics runBigDecimal(int rounds) {
+        PhaseMetrics metrics = new PhaseMetrics("big-decimal");
+        BigDecimal percent = BigDecimal.valueOf(3, 2);
+        BigDecimal parts = BigDecimal.valueOf(3);
+        long start = System.nanoTime();
+        BigDecimal checksum = BigDecimal.ZERO;
+        for (int round = 0; round < rounds; round++) {
+            long roundStart = System.nanoTime();
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal fees = BigDecimal.ZERO;
+            for (BigDecimal premium : decimalPremiums) {
+                total = total.add(premium);
+                fees = fees.add(premium.multiply(percent).setScale(2, RoundingMode.HALF_EVEN));
+            }
+            checksum = checksum.add(total.subtract(fees).divide(parts, 2, RoundingMode.DOWN));
+            metrics.recordEvent(System.nanoTime() - roundStart, false);
+        }
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        System.out.println(metrics.getName() + " checksum=" + checksum);
+        return metrics;
+    }
+
+    public long exactTotal() {
+        long total = 0;
+        for (long premium : premiums) {
+            total = Money.add(total, premium);
+        }
+        return total;
+    }
+
+    public double doubleTotal() {
+        double total = 0;
+        for (double premium : doublePremiums) {
+            total += premium;
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        MoneyDriver driver = new MoneyDriver(count, seed);
+        System.out.println(driver.runMinorUnits(rounds));
+        System.out.println(driver.runDouble(rounds));
+        System.out.println(driver.runBigDecimal(rounds));
+
+        long exact = driver.exactTotal();
+        double approximate = driver.doubleTotal();
+        System.out.println("exact=" + Money.format(exact, Money.DEFAULT_CURRENCY) + " double=" + approximate
+                + " drift=" + BigDecimal.valueOf(approximate).subtract(BigDecimal.valueOf(exact, 2)).toPlainString());
+    }
+}
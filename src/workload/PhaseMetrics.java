@@ -0,0 +1,82 @@
+package workload;
+
+import util.Log2Histogram;
+
+public class PhaseMetrics {
+    private final String name;
+    private final Log2Histogram latencies;
+    private long events;
+    private long failures;
+    private long elapsedNanos;
+    private long usedHeapBefore;
+    private long usedHeapAfter;
+
+    public PhaseMetrics(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Phase name cannot be null or empty");
+        }
+        this.name = name;
+        this.latencies = new Log2Histogram();
+    }
+
+    void recordEvent(long latencyNanos, boolean failed) {
+        events++;
+        if (failed) {
+            failures++;
+        }
+        latencies.record(latencyNanos);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void setUsedHeap(long before, long after) {
+        this.usedHeapBefore = before;
+        this.usedHeapAfter = after;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : events * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public long getLatencyPercentileNanos(double percentile) {
+        return latencies.getPercentile(percentile);
+    }
+
+    public long getMaxLatencyNanos() {
+        return latencies.getMax();
+    }
+
+    public long getUsedHeapBefore() {
+        return usedHeapBefore;
+    }
+
+    public long getUsedHeapAfter() {
+        return usedHeapAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: events=%d failures=%d elapsed=%.1fms throughput=%.0f/s p50=%dns p99=%dns max=%dns heap=%dKB->%dKB",
+                name, events, failures, elapsedNanos / 1_000_000.0, getThroughputPerSecond(),
+                getLatencyPercentileNanos(50), getLatencyPercentileNanos(99), getMaxLatencyNanos(),
+                usedHeapBefore / 1024, usedHeapAfter / 1024);
+    }
+}
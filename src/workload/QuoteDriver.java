@@ -0,0 +1,129 @@
+package workload;
+
+import payment.Money;
+import payment.PremiumPaymentFrequency;
+import pricing.PricingRules;
+import pricing.Quote;
+import pricing.QuoteRequest;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class QuoteDriver {
+    private final PricingRules rules;
+    private final List<QuoteRequest> vehicleRequests;
+    private final List<QuoteRequest> travelRequests;
+
+    public QuoteDriver(PricingRules rules, int count, long seed) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Pricing rules cannot be null");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        this.rules = rules;
+        this.vehicleRequests = new ArrayList<>(count);
+        this.travelRequests = new ArrayList<>(count);
+        PremiumPaymentFrequency[] frequencies = PremiumPaymentFrequency.values();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < count; i++) {
+            PremiumPaymentFrequency frequency = frequencies[random.nextInt(frequencies.length)];
+            vehicleRequests.add(new QuoteRequest(1 + random.nextLong(2_000), frequency, random.nextLong(-100, 100_000), 0));
+            travelRequests.add(new QuoteRequest(1 + random.nextLong(2_000), frequency, 0, random.nextInt(-1, 6)));
+        }
+    }
+
+    public PhaseMetrics runRules(String product, int rounds) {
+        List<QuoteRequest> requests = requests(product);
+        PhaseMetrics metrics = new PhaseMetrics(product + "-rules");
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long roundStart = System.nanoTime();
+            for (Quote quote : rules.quoteAll(product, requests)) {
+                checksum += quote.isAcceptable() ? quote.getCoverageAmount() : 0;
+            }
+            metrics.recordEvent(System.nanoTime() - roundStart, false);
+        }
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        System.out.println(metrics.getName() + " checksum=" + checksum);
+        return metrics;
+    }
+
+    public PhaseMetrics runHardCoded(String product, int rounds) {
+        List<QuoteRequest> requests = requests(product);
+        PhaseMetrics metrics = new PhaseMetrics(product + "-hard-coded");
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long roundStart = System.nanoTime();
+            List<Quote> quotes = new ArrayList<>(requests.size());
+            for (QuoteRequest request : requests) {
+                quotes.add(hardCoded(product, request));
+            }
+            for (Quote quote : quotes) {
+                checksum += quote.isAcceptable() ? quote.getCoverageAmount() : 0;
+            }
+            metrics.recordEvent(System.nanoTime() - roundStart, false);
+        }
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        System.out.println(metrics.getName() + " checksum=" + checksum);
+        return metrics;
+    }
+
+    public boolean isConsistent(String product) {
+        List<QuoteRequest> requests = requests(product);
+        List<Quote> quotes = rules.quoteAll(product, requests);
+        for (int i = 0; i < requests.size(); i++) {
+            Quote expected = hardCoded(product, requests.get(i));
+            Quote actual = quotes.get(i);
+            if (expected.isEligible() != actual.isEligible()
+                    || expected.getAnnualPremium() != actual.getAnnualPremium()
+                    || expected.getMinimumAnnualPremium() != actual.getMinimumAnnualPremium()
+                    || expected.getCoverageAmount() != actual.getCoverageAmount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<QuoteRequest> requests(String product) {
+        if (PricingRules.VEHICLE.equals(product)) {
+            return vehicleRequests;
+        }
+        if (PricingRules.TRAVEL.equals(product)) {
+            return travelRequests;
+        }
+        throw new IllegalArgumentException("Unknown product " + product);
+    }
+
+    private static Quote hardCoded(String product, QuoteRequest request) {
+        long annualPremium = Money.multiply(request.getPremium(), 12 / request.getFrequency().getValueInMonths());
+        if (PricingRules.VEHICLE.equals(product)) {
+            long value = request.getValue();
+            return new Quote(product, value > 0, annualPremium, Money.percent(value, 2, RoundingMode.CEILING),
+                    Money.divide(value, 2, RoundingMode.DOWN));
+        }
+        int persons = request.getPersons();
+        return new Quote(product, persons > 0, annualPremium, Money.multiply(persons, 5), Money.multiply(persons, 10));
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        QuoteDriver driver = new QuoteDriver(PricingRules.defaults(), count, seed);
+        for (String product : new String[]{PricingRules.VEHICLE, PricingRules.TRAVEL}) {
+            driver.runHardCoded(product, rounds);
+            driver.runRules(product, rounds);
+        }
+        for (String product : new String[]{PricingRules.VEHICLE, PricingRules.TRAVEL}) {
+            System.out.println(driver.runHardCoded(product, rounds));
+            System.out.println(driver.runRules(product, rounds));
+            System.out.println(product + " consistent=" + driver.isConsistent(product));
+        }
+    }
+}
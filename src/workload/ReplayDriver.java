@@ -0,0 +1,193 @@
+package workload;
+
+import company.InsuranceCompany;
+import contracts.AbstractContract;
+import contracts.InvalidContractException;
+import contracts.MasterVehicleContract;
+import contracts.SingleVehicleContract;
+import contracts.TravelContract;
+import objects.Person;
+import objects.Vehicle;
+import payment.PremiumPaymentFrequency;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ReplayDriver {
+    private final InsuranceCompany company;
+    private final Map<String, Person> persons;
+    private final List<WorkloadEvent> fleetBatch;
+
+    public ReplayDriver(InsuranceCompany company) {
+        this(company, 16);
+    }
+
+    public ReplayDriver(InsuranceCompany company, int expectedPersons) {
+        if (company == null) {
+            throw new IllegalArgumentException("Insurance Company cannot be null");
+        }
+        if (expectedPersons < 0) {
+            throw new IllegalArgumentException("Expected persons cannot be negative");
+        }
+        this.company = company;
+        this.persons = new HashMap<>((int) Math.min(Integer.MAX_VALUE, expectedPersons * 4L / 3 + 1));
+        this.fleetBatch = new ArrayList<>();
+    }
+
+    public InsuranceCompany getCompany() {
+        return company;
+    }
+
+    public PhaseMetrics replay(String phaseName, Iterator<WorkloadEvent> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        PhaseMetrics metrics = new PhaseMetrics(phaseName);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+
+        while (events.hasNext()) {
+            WorkloadEvent event = events.next();
+            if (event.getType() == WorkloadEventType.INSURE_FLEET_VEHICLE) {
+                if (!fleetBatch.isEmpty() && !fleetBatch.get(0).getMasterContractNumber().equals(event.getMasterContractNumber())) {
+                    insureFleet(metrics);
+                }
+                fleetBatch.add(event);
+                continue;
+            }
+            insureFleet(metrics);
+
+            long eventStart = System.nanoTime();
+            boolean failed = false;
+            try {
+                apply(event);
+            } catch (IllegalArgumentException | InvalidContractException e) {
+                failed = true;
+            }
+            metrics.recordEvent(System.nanoTime() - eventStart, failed);
+        }
+        insureFleet(metrics);
+
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        metrics.setUsedHeap(heapBefore, usedHeap());
+        return metrics;
+    }
+
+    private void apply(WorkloadEvent event) {
+        switch (event.getType()) {
+            case INSURE_VEHICLE:
+                company.insureVehicle(event.getContractNumber(), null, person(event.getPolicyHolderId()),
+                        event.getAmount(), event.getFrequency(), vehicle(event));
+                break;
+            case CREATE_FLEET:
+                company.createMasterVehicleContract(event.getMasterContractNumber(), null, person(event.getPolicyHolderId()));
+                break;
+            case INSURE_TRAVEL:
+                Set<Person> insuredPersons = new LinkedHashSet<>();
+                for (String personId : event.getPersonIds()) {
+                    insuredPersons.add(person(personId));
+                }
+                company.insurePersons(event.getContractNumber(), person(event.getPolicyHolderId()),
+                        event.getAmount(), event.getFrequency(), insuredPersons);
+                break;
+            case ADVANCE_TIME:
+                company.setCurrentTime(company.getCurrentTime().plusMonths(event.getMonths()));
+                company.chargePremiumsOnContracts();
+                break;
+            case PAY:
+                company.getHandler().pay(contract(event.getContractNumber()), event.getAmount());
+                break;
+            case VEHICLE_CLAIM:
+                company.processClaim((SingleVehicleContract) contract(event.getContractNumber()), event.getAmount());
+                break;
+            case TRAVEL_CLAIM:
+                TravelContract travelContract = (TravelContract) contract(event.getContractNumber());
+                List<Person> affected = new ArrayList<>(travelContract.getInsuredPersons());
+                company.processClaim(travelContract, new LinkedHashSet<>(affected.subList(0, (int) Math.min(event.getAmount(), affected.size()))));
+                break;
+            default:
+                throw new IllegalStateException("Unknown event type");
+        }
+    }
+
+    private void insureFleet(PhaseMetrics metrics) {
+        if (fleetBatch.isEmpty()) {
+            return;
+        }
+        Map<PremiumPaymentFrequency, List<WorkloadEvent>> byFrequency = new EnumMap<>(PremiumPaymentFrequency.class);
+        for (WorkloadEvent event : fleetBatch) {
+            byFrequency.computeIfAbsent(event.getFrequency(), k -> new ArrayList<>()).add(event);
+        }
+        String masterContractNumber = fleetBatch.get(0).getMasterContractNumber();
+        fleetBatch.clear();
+
+        for (Map.Entry<PremiumPaymentFrequency, List<WorkloadEvent>> entry : byFrequency.entrySet()) {
+            List<WorkloadEvent> group = entry.getValue();
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                List<String> contractNumbers = new ArrayList<>(group.size());
+                long[] premiums = new long[group.size()];
+                List<Vehicle> vehicles = new ArrayList<>(group.size());
+                for (int i = 0; i < group.size(); i++) {
+                    contractNumbers.add(group.get(i).getContractNumber());
+                    premiums[i] = group.get(i).getAmount();
+                    vehicles.add(vehicle(group.get(i)));
+                }
+                AbstractContract master = contract(masterContractNumber);
+                if (!(master instanceof MasterVehicleContract)) {
+                    throw new IllegalArgumentException("Unknown fleet " + masterContractNumber);
+                }
+                company.insureVehiclesIntoMasterVehicleContract((MasterVehicleContract) master, contractNumbers, premiums, entry.getKey(), vehicles);
+            } catch (IllegalArgumentException | InvalidContractException e) {
+                failed = true;
+            }
+            long latency = (System.nanoTime() - start) / group.size();
+            for (int i = 0; i < group.size(); i++) {
+                metrics.recordEvent(latency, failed);
+            }
+        }
+    }
+
+    private Vehicle vehicle(WorkloadEvent event) {
+        return company.findOrCreateVehicle(event.getLicensePlate(), event.getVehicleValue());
+    }
+
+    private Person person(String id) {
+        return persons.computeIfAbsent(id, Person::new);
+    }
+
+    private AbstractContract contract(String contractNumber) {
+        AbstractContract contract = company.findContract(contractNumber);
+        if (contract == null) {
+            throw new IllegalArgumentException("Unknown contract " + contractNumber);
+        }
+        return contract;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) {
+        long contractCount = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        int months = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        WorkloadGenerator generator = new WorkloadGenerator(seed, contractCount);
+        ReplayDriver driver = new ReplayDriver(new InsuranceCompany(LocalDateTime.of(2025, 1, 1, 0, 0)),
+                (int) Math.min(Integer.MAX_VALUE, contractCount / 2));
+
+        System.out.println(driver.replay("book", generator.book()));
+        System.out.println(driver.replay("timeline", generator.timeline(months, Math.max(1, contractCount / 2), Math.max(1, contractCount / 200))));
+    }
+}
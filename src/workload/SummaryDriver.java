@@ -0,0 +1,139 @@
+package workload;
+
+import company.InsuranceCompany;
+import company.PolicyHolderSummary;
+import company.PolicyHolderSummaryCache;
+import contracts.AbstractContract;
+import objects.Person;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+public class SummaryDriver {
+    private final InsuranceCompany company;
+    private final List<Person> policyHolders;
+    private final double[] cumulativeWeights;
+
+    public SummaryDriver(InsuranceCompany company, double exponent) {
+        if (company == null) {
+            throw new IllegalArgumentException("Insurance Company cannot be null");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent cannot be negative");
+        }
+        Set<Person> holders = new LinkedHashSet<>();
+        for (AbstractContract contract : company.getContracts()) {
+            holders.add(contract.getPolicyHolder());
+        }
+        if (holders.isEmpty()) {
+            throw new IllegalArgumentException("Company has no policy holders");
+        }
+        this.company = company;
+        this.policyHolders = new ArrayList<>(holders);
+        this.cumulativeWeights = new double[policyHolders.size()];
+        double total = 0;
+        for (int rank = 0; rank < cumulativeWeights.length; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulativeWeights[rank] = total;
+        }
+        for (int rank = 0; rank < cumulativeWeights.length; rank++) {
+            cumulativeWeights[rank] /= total;
+        }
+    }
+
+    public int getPolicyHolderCount() {
+        return policyHolders.size();
+    }
+
+    private Person sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return policyHolders.get(Math.min(rank < 0 ? -rank - 1 : rank, policyHolders.size() - 1));
+    }
+
+    public PhaseMetrics run(String phaseName, long reads, int writePercent, long seed, boolean cached) {
+        if (reads <= 0) {
+            throw new IllegalArgumentException("Reads must be positive");
+        }
+        if (writePercent < 0 || writePercent > 100) {
+            throw new IllegalArgumentException("Write percent must be between 0 and 100");
+        }
+        PolicyHolderSummaryCache cache = company.getSummaryCache();
+        SplittableRandom random = new SplittableRandom(seed);
+        PhaseMetrics metrics = new PhaseMetrics(phaseName);
+        long start = System.nanoTime();
+
+        for (long i = 0; i < reads; i++) {
+            Person policyHolder = sample(random);
+            if (random.nextInt(100) < writePercent) {
+                pay(policyHolder);
+            }
+            long eventStart = System.nanoTime();
+            if (!cached) {
+                cache.invalidate(policyHolder);
+            }
+            company.getPolicyHolderSummary(policyHolder);
+            metrics.recordEvent(System.nanoTime() - eventStart, false);
+        }
+
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        return metrics;
+    }
+
+    private void pay(Person policyHolder) {
+        for (AbstractContract contract : policyHolder.getContractsSnapshot()) {
+            if (contract.isActive()) {
+                contract.pay(100);
+                return;
+            }
+        }
+    }
+
+    public boolean isConsistent() {
+        PolicyHolderSummaryCache cache = company.getSummaryCache();
+        for (Person policyHolder : policyHolders) {
+            PolicyHolderSummary cached = company.getPolicyHolderSummary(policyHolder);
+            cache.invalidate(policyHolder);
+            PolicyHolderSummary fresh = company.getPolicyHolderSummary(policyHolder);
+            if (cached.getContractCount() != fresh.getContractCount()
+                    || !cached.getTotalDebts().equals(fresh.getTotalDebts())
+                    || !cached.getTotalPaids().equals(fresh.getTotalPaids())
+                    || !cached.getPaidOutAmounts().equals(fresh.getPaidOutAmounts())
+                    || !Objects.equals(cached.getNextDueTime(), fresh.getNextDueTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        long contractCount = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        long reads = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        double exponent = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        int writePercent = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        InsuranceCompany company = new InsuranceCompany(LocalDateTime.of(2025, 1, 1, 0, 0));
+        ReplayDriver replayDriver = new ReplayDriver(company, (int) Math.min(Integer.MAX_VALUE, contractCount / 2));
+        System.out.println(replayDriver.replay("book", new WorkloadGenerator(seed, contractCount).book()));
+        company.setCurrentTime(company.getCurrentTime().plusMonths(2));
+        company.chargePremiumsOnContracts();
+
+        SummaryDriver driver = new SummaryDriver(company, exponent);
+        PolicyHolderSummaryCache cache = company.getSummaryCache();
+        System.out.println("policyHolders=" + driver.getPolicyHolderCount() + " cacheSize=" + cache.getMaximumSize());
+        System.out.println(driver.run("uncached", reads, writePercent, seed, false));
+        cache.invalidateAll();
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        System.out.println(driver.run("cached", reads, writePercent, seed, true));
+        System.out.println("hits=" + (cache.getHitCount() - hits) + " misses=" + (cache.getMissCount() - misses)
+                + " evictions=" + cache.getEvictionCount());
+        System.out.println("consistent=" + driver.isConsistent());
+    }
+}
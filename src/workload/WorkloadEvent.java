@@ -0,0 +1,101 @@
+package workload;
+
+import payment.PremiumPaymentFrequency;
+
+public class WorkloadEvent {
+    private final WorkloadEventType type;
+    private final String contractNumber;
+    private final String masterContractNumber;
+    private final String policyHolderId;
+    private final String[] personIds;
+    private final String licensePlate;
+    private final long vehicleValue;
+    private final long amount;
+    private final PremiumPaymentFrequency frequency;
+    private final int months;
+
+    private WorkloadEvent(WorkloadEventType type, String contractNumber, String masterContractNumber, String policyHolderId, String[] personIds, String licensePlate, long vehicleValue, long amount, PremiumPaymentFrequency frequency, int months) {
+        this.type = type;
+        this.contractNumber = contractNumber;
+        this.masterContractNumber = masterContractNumber;
+        this.policyHolderId = policyHolderId;
+        this.personIds = personIds;
+        this.licensePlate = licensePlate;
+        this.vehicleValue = vehicleValue;
+        this.amount = amount;
+        this.frequency = frequency;
+        this.months = months;
+    }
+
+    public static WorkloadEvent insureVehicle(String contractNumber, String policyHolderId, String licensePlate, long vehicleValue, long premium, PremiumPaymentFrequency frequency) {
+        return new WorkloadEvent(WorkloadEventType.INSURE_VEHICLE, contractNumber, null, policyHolderId, null, licensePlate, vehicleValue, premium, frequency, 0);
+    }
+
+    public static WorkloadEvent createFleet(String masterContractNumber, String policyHolderId) {
+        return new WorkloadEvent(WorkloadEventType.CREATE_FLEET, null, masterContractNumber, policyHolderId, null, null, 0, 0, null, 0);
+    }
+
+    public static WorkloadEvent insureFleetVehicle(String contractNumber, String masterContractNumber, String policyHolderId, String licensePlate, long vehicleValue, long premium, PremiumPaymentFrequency frequency) {
+        return new WorkloadEvent(WorkloadEventType.INSURE_FLEET_VEHICLE, contractNumber, masterContractNumber, policyHolderId, null, licensePlate, vehicleValue, premium, frequency, 0);
+    }
+
+    public static WorkloadEvent insureTravel(String contractNumber, String policyHolderId, String[] personIds, long premium, PremiumPaymentFrequency frequency) {
+        return new WorkloadEvent(WorkloadEventType.INSURE_TRAVEL, contractNumber, null, policyHolderId, personIds, null, 0, premium, frequency, 0);
+    }
+
+    public static WorkloadEvent advanceTime(int months) {
+        return new WorkloadEvent(WorkloadEventType.ADVANCE_TIME, null, null, null, null, null, 0, 0, null, months);
+    }
+
+    public static WorkloadEvent pay(String contractNumber, long amount) {
+        return new WorkloadEvent(WorkloadEventType.PAY, contractNumber, null, null, null, null, 0, amount, null, 0);
+    }
+
+    public static WorkloadEvent vehicleClaim(String contractNumber, long expectedDamages) {
+        return new WorkloadEvent(WorkloadEventType.VEHICLE_CLAIM, contractNumber, null, null, null, null, 0, expectedDamages, null, 0);
+    }
+
+    public static WorkloadEvent travelClaim(String contractNumber, int affectedPersons) {
+        return new WorkloadEvent(WorkloadEventType.TRAVEL_CLAIM, contractNumber, null, null, null, null, 0, affectedPersons, null, 0);
+    }
+
+    public WorkloadEventType getType() {
+        return type;
+    }
+
+    public String getContractNumber() {
+        return contractNumber;
+    }
+
+    public String getMasterContractNumber() {
+        return masterContractNumber;
+    }
+
+    public String getPolicyHolderId() {
+        return policyHolderId;
+    }
+
+    public String[] getPersonIds() {
+        return personIds;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public long getVehicleValue() {
+        return vehicleValue;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public PremiumPaymentFrequency getFrequency() {
+        return frequency;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+}
@@ -0,0 +1,12 @@
+package workload;
+
+public enum WorkloadEventType {
+    INSURE_VEHICLE,
+    CREATE_FLEET,
+    INSURE_FLEET_VEHICLE,
+    INSURE_TRAVEL,
+    ADVANCE_TIME,
+    PAY,
+    VEHICLE_CLAIM,
+    TRAVEL_CLAIM;
+}
@@ -0,0 +1,232 @@
+package workload;
+
+import objects.LicensePlate;
+import payment.PremiumPaymentFrequency;
+
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class WorkloadGenerator {
+    private static final int BLOCK_SIZE = 64;
+    private static final int FLEET_BLOCK_PERCENT = 25;
+    private static final int TRAVEL_PERCENT = 20;
+    private static final int MAX_TRAVEL_PERSONS = 4;
+
+    private static final long SALT_BLOCK = 1;
+    private static final long SALT_FLEET_SIZE = 2;
+    private static final long SALT_KIND = 3;
+    private static final long SALT_HOLDER = 4;
+    private static final long SALT_VALUE = 5;
+    private static final long SALT_FREQUENCY = 6;
+    private static final long SALT_PREMIUM = 7;
+    private static final long SALT_PERSONS = 8;
+    private static final long SALT_BIRTH = 9;
+    private static final long SALT_TIMELINE = 10;
+    private static final long SALT_TRAVEL_PERSON = 100;
+
+    private final long seed;
+    private final long contractCount;
+    private final long naturalPersonCount;
+
+    public WorkloadGenerator(long seed, long contractCount) {
+        if (contractCount <= 0) {
+            throw new IllegalArgumentException("Contract count must be positive");
+        }
+        if (contractCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Contract count is too large");
+        }
+        this.seed = seed;
+        this.contractCount = contractCount;
+        this.naturalPersonCount = Math.max(1, contractCount / 3);
+    }
+
+    public long getContractCount() {
+        return contractCount;
+    }
+
+    public Iterator<WorkloadEvent> book() {
+        return new Iterator<WorkloadEvent>() {
+            private final ArrayDeque<WorkloadEvent> pending = new ArrayDeque<>();
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return !pending.isEmpty() || index < contractCount;
+            }
+
+            @Override
+            public WorkloadEvent next() {
+                if (pending.isEmpty()) {
+                    if (index >= contractCount) {
+                        throw new NoSuchElementException();
+                    }
+                    long block = index / BLOCK_SIZE;
+                    if (index % BLOCK_SIZE == 0 && isFleetBlock(block)) {
+                        pending.add(WorkloadEvent.createFleet(masterContractNumber(block), registrationNumber(block)));
+                    }
+                    pending.add(contractEvent(index++));
+                }
+                return pending.poll();
+            }
+        };
+    }
+
+    public Iterator<WorkloadEvent> timeline(int months, long paymentsPerMonth, long claimsPerMonth) {
+        if (months < 0 || paymentsPerMonth < 0 || claimsPerMonth < 0) {
+            throw new IllegalArgumentException("Timeline parameters cannot be negative");
+        }
+        long eventsPerMonth = 1 + paymentsPerMonth + claimsPerMonth;
+        long totalEvents = eventsPerMonth * months;
+
+        return new Iterator<WorkloadEvent>() {
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < totalEvents;
+            }
+
+            @Override
+            public WorkloadEvent next() {
+                if (position >= totalEvents) {
+                    throw new NoSuchElementException();
+                }
+                long slot = position % eventsPerMonth;
+                long random = hash(SALT_TIMELINE, position++);
+                if (slot == 0) {
+                    return WorkloadEvent.advanceTime(1);
+                }
+
+                long index = Math.floorMod(random, contractCount);
+                if (slot <= paymentsPerMonth) {
+                    return WorkloadEvent.pay(contractNumber(index), premium(index) * (1 + Math.floorMod(random >>> 32, 3)));
+                }
+                if (isTravel(index)) {
+                    return WorkloadEvent.travelClaim(contractNumber(index), 1);
+                }
+                return WorkloadEvent.vehicleClaim(contractNumber(index), 1 + Math.floorMod(random >>> 16, vehicleValue(index)));
+            }
+        };
+    }
+
+    private WorkloadEvent contractEvent(long index) {
+        long block = index / BLOCK_SIZE;
+        if (isFleetMember(index)) {
+            return WorkloadEvent.insureFleetVehicle(contractNumber(index), masterContractNumber(block), registrationNumber(block),
+                    licensePlate(index), vehicleValue(index), premium(index), frequency(index));
+        }
+
+        String holderId = birthNumber(Math.floorMod(hash(SALT_HOLDER, index), naturalPersonCount));
+        if (isTravel(index)) {
+            return WorkloadEvent.insureTravel(contractNumber(index), holderId, travelPersonIds(index), premium(index), frequency(index));
+        }
+        return WorkloadEvent.insureVehicle(contractNumber(index), holderId, licensePlate(index), vehicleValue(index), premium(index), frequency(index));
+    }
+
+    private boolean isFleetBlock(long block) {
+        return Math.floorMod(hash(SALT_BLOCK, block), 100) < FLEET_BLOCK_PERCENT;
+    }
+
+    private boolean isFleetMember(long index) {
+        long block = index / BLOCK_SIZE;
+        return isFleetBlock(block) && index % BLOCK_SIZE < 2 + Math.floorMod(hash(SALT_FLEET_SIZE, block), BLOCK_SIZE - 1);
+    }
+
+    private boolean isTravel(long index) {
+        return !isFleetMember(index) && Math.floorMod(hash(SALT_KIND, index), 100) < TRAVEL_PERCENT;
+    }
+
+    private int travelPersonCount(long index) {
+        return 1 + Math.floorMod(hash(SALT_PERSONS, index), MAX_TRAVEL_PERSONS);
+    }
+
+    private String[] travelPersonIds(long index) {
+        String[] ids = new String[travelPersonCount(index)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = birthNumber(Math.floorMod(hash(SALT_TRAVEL_PERSON + i, index), naturalPersonCount));
+        }
+        return ids;
+    }
+
+    private long vehicleValue(long index) {
+        return 2_000 + Math.floorMod(hash(SALT_VALUE, index), 58_000);
+    }
+
+    private PremiumPaymentFrequency frequency(long index) {
+        PremiumPaymentFrequency[] frequencies = PremiumPaymentFrequency.values();
+        return frequencies[Math.floorMod(hash(SALT_FREQUENCY, index), frequencies.length)];
+    }
+
+    private long premium(long index) {
+        long paymentsPerYear = 12 / frequency(index).getValueInMonths();
+        long minimumAnnual = isTravel(index) ? 5L * travelPersonCount(index) : (vehicleValue(index) * 2 + 99) / 100;
+        long minimum = (minimumAnnual + paymentsPerYear - 1) / paymentsPerYear;
+        return Math.max(1, minimum) + Math.floorMod(hash(SALT_PREMIUM, index), 20);
+    }
+
+    public static String contractNumber(long index) {
+        return "C" + index;
+    }
+
+    public static String masterContractNumber(long block) {
+        return "M" + block;
+    }
+
+    public static String licensePlate(long index) {
+        return LicensePlate.decode(index);
+    }
+
+    public static String registrationNumber(long block) {
+        return Long.toString(10_000_000 + Math.floorMod(block, 90_000_000));
+    }
+
+    public String birthNumber(long personIndex) {
+        long random = hash(SALT_BIRTH, personIndex);
+        int year = 1954 + Math.floorMod(random, 52);
+        int month = 1 + Math.floorMod(random >>> 8, 12);
+        int day = 1 + Math.floorMod(random >>> 16, YearMonth.of(year, month).lengthOfMonth());
+        int encodedMonth = (random >>> 24 & 1) == 0 ? month : month + 50;
+        int suffix = Math.floorMod(random >>> 32, 1000);
+
+        int[] digits = new int[10];
+        setDigits(digits, 0, year % 100);
+        setDigits(digits, 2, encodedMonth);
+        setDigits(digits, 4, day);
+
+        while (true) {
+            digits[6] = suffix / 100;
+            digits[7] = suffix / 10 % 10;
+            digits[8] = suffix % 10;
+            int partial = 0;
+            for (int i = 0; i < 9; i++) {
+                partial += (i % 2 == 0 ? 1 : -1) * digits[i];
+            }
+            int check = Math.floorMod(partial, 11);
+            if (check < 10) {
+                digits[9] = check;
+                break;
+            }
+            suffix = (suffix + 1) % 1000;
+        }
+
+        StringBuilder builder = new StringBuilder(10);
+        for (int digit : digits) {
+            builder.append(digit);
+        }
+        return builder.toString();
+    }
+
+    private static void setDigits(int[] digits, int offset, int value) {
+        digits[offset] = value / 10;
+        digits[offset + 1] = value % 10;
+    }
+
+    private long hash(long salt, long value) {
+        long z = seed + salt * 0x9E3779B97F4A7C15L + value * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,107 @@
+package company;
+
+import contracts.AbstractContract;
+import contracts.MasterVehicleContract;
+import contracts.SingleVehicleContract;
+import objects.Person;
+import objects.Vehicle;
+import org.junit.jupiter.api.Test;
+import payment.PremiumPaymentFrequency;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractSnapshotTest {
+    private final InsuranceCompany company = new InsuranceCompany(LocalDateTime.of(2025, 1, 1, 0, 0));
+    private final Person policyHolder = new Person("12345678");
+
+    private List<SingleVehicleContract> insure(int count) {
+        List<SingleVehicleContract> contracts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            contracts.add(company.insureVehicle("S" + i, null, policyHolder, 100, PremiumPaymentFrequency.MONTHLY, new Vehicle(i, 1000)));
+        }
+        return contracts;
+    }
+
+    private static ContractSnapshot snapshotOf(List<? extends AbstractContract> contracts) {
+        ContractSnapshot snapshot = ContractSnapshot.EMPTY;
+        for (AbstractContract contract : contracts) {
+            snapshot = snapshot.append(contract);
+        }
+        return snapshot;
+    }
+
+    @Test
+    void appendGrowsPastOneAndTwoFullLevels() {
+        List<SingleVehicleContract> contracts = insure(1100);
+        for (int count : new int[]{31, 32, 33, 1023, 1024, 1025, 1100}) {
+            ContractSnapshot snapshot = snapshotOf(contracts.subList(0, count));
+            assertEquals(count, snapshot.size());
+            assertEquals(count, snapshot.nextSlot());
+            assertEquals(contracts.subList(0, count), new ArrayList<>(snapshot));
+        }
+    }
+
+    @Test
+    void appendLeavesEarlierVersionsUnchanged() {
+        List<SingleVehicleContract> contracts = insure(1030);
+        ContractSnapshot small = snapshotOf(contracts.subList(0, 32));
+        ContractSnapshot large = small;
+        for (SingleVehicleContract contract : contracts.subList(32, contracts.size())) {
+            large = large.append(contract);
+        }
+
+        assertEquals(contracts.subList(0, 32), new ArrayList<>(small));
+        assertEquals(contracts, new ArrayList<>(large));
+    }
+
+    @Test
+    void withoutLeavesTombstonesThatIterationSkips() {
+        List<SingleVehicleContract> contracts = insure(70);
+        ContractSnapshot full = snapshotOf(contracts);
+        ContractSnapshot pruned = full.without(0).without(31).without(32).without(69);
+
+        List<SingleVehicleContract> expected = new ArrayList<>(contracts);
+        expected.removeAll(List.of(contracts.get(0), contracts.get(31), contracts.get(32), contracts.get(69)));
+        assertEquals(expected, new ArrayList<>(pruned));
+        assertEquals(66, pruned.size());
+        assertEquals(70, pruned.nextSlot());
+        assertEquals(contracts, new ArrayList<>(full));
+        assertSame(pruned, pruned.without(31));
+        assertThrows(IndexOutOfBoundsException.class, () -> pruned.without(70));
+        assertThrows(IndexOutOfBoundsException.class, () -> pruned.without(-1));
+    }
+
+    @Test
+    void becomesSparseOnceMoreThanHalfTheSlotsAreTombstones() {
+        ContractSnapshot snapshot = snapshotOf(insure(10));
+        for (int slot = 0; slot < 5; slot++) {
+            snapshot = snapshot.without(slot);
+        }
+        assertFalse(snapshot.isSparse());
+        assertTrue(snapshot.without(5).isSparse());
+    }
+
+    @Test
+    void companyCompactsTheSnapshotWhenContractsLeaveIt() {
+        List<SingleVehicleContract> contracts = insure(100);
+        MasterVehicleContract master = company.createMasterVehicleContract("M", null, policyHolder);
+        assertEquals(101, company.getContractsSnapshot().nextSlot());
+
+        company.moveSingleVehicleContractsToMasterVehicleContract(master, contracts.subList(0, 60));
+
+        ContractSnapshot snapshot = company.getContractsSnapshot();
+        assertEquals(41, snapshot.size());
+        assertTrue(snapshot.nextSlot() < 101);
+        assertFalse(snapshot.isSparse());
+        assertEquals(new HashSet<>(company.getContracts()), new HashSet<>(snapshot));
+    }
+}
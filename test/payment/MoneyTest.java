@@ -0,0 +1,63 @@
+package payment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+    @Test
+    void divideRoundsHalfwayCasesPerMode() {
+        assertEquals(2, Money.divide(5, 2, RoundingMode.DOWN));
+        assertEquals(3, Money.divide(5, 2, RoundingMode.UP));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.FLOOR));
+        assertEquals(3, Money.divide(5, 2, RoundingMode.CEILING));
+        assertEquals(3, Money.divide(5, 2, RoundingMode.HALF_UP));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_DOWN));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_EVEN));
+        assertEquals(4, Money.divide(7, 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void divideRoundsNegativeQuotientsPerMode() {
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.DOWN));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.UP));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.FLOOR));
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.CEILING));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.HALF_UP));
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.HALF_DOWN));
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.HALF_EVEN));
+        assertEquals(-2, Money.divide(5, -2, RoundingMode.HALF_EVEN));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void divideMatchesBigDecimal(RoundingMode roundingMode) {
+        for (long amount = -25; amount <= 25; amount++) {
+            for (long divisor = -7; divisor <= 7; divisor++) {
+                if (divisor == 0) {
+                    continue;
+                }
+                long expected = BigDecimal.valueOf(amount).divide(BigDecimal.valueOf(divisor), 0, roundingMode).longValueExact();
+                assertEquals(expected, Money.divide(amount, divisor, roundingMode), amount + " / " + divisor + " " + roundingMode);
+            }
+        }
+    }
+
+    @Test
+    void divideUnnecessaryOnlyAcceptsExactQuotients() {
+        assertEquals(4, Money.divide(12, 3, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.divide(13, 3, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void divideRejectsZeroDivisorAndMissingMode() {
+        assertThrows(ArithmeticException.class, () -> Money.divide(1, 0, RoundingMode.DOWN));
+        assertThrows(IllegalArgumentException.class, () -> Money.divide(1, 2, null));
+    }
+}
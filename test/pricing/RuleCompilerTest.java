@@ -0,0 +1,97 @@
+package pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCompilerTest {
+    private static final List<String> VARIABLES = List.of("a", "b");
+
+    private static long evaluate(String source, long a, long b) {
+        return RuleCompiler.compile(source, VARIABLES).evaluate(new long[]{a, b});
+    }
+
+    private static long evaluate(String source) {
+        return evaluate(source, 0, 0);
+    }
+
+    private static void assertRejected(String source, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile(source, VARIABLES));
+        assertTrue(e.getMessage().startsWith(message), e.getMessage());
+    }
+
+    @Test
+    void multiplicativeBindsTighterThanAdditive() {
+        assertEquals(7, evaluate("1 + 2 * 3"));
+        assertEquals(9, evaluate("(1 + 2) * 3"));
+        assertEquals(6, evaluate("7 % 4 * 2"));
+        assertEquals(11, evaluate("1 + 20 / 2"));
+    }
+
+    @Test
+    void binaryOperatorsAreLeftAssociative() {
+        assertEquals(3, evaluate("10 - 4 - 3"));
+        assertEquals(1, evaluate("20 / 4 / 5"));
+    }
+
+    @Test
+    void unaryBindsTighterThanBinary() {
+        assertEquals(-6, evaluate("-2 * 3"));
+        assertEquals(4, evaluate("- -4"));
+        assertEquals(2, evaluate("!0 + 1"));
+        assertEquals(0, evaluate("!(2 > 1)"));
+    }
+
+    @Test
+    void comparisonBindsTighterThanAndWhichBindsTighterThanOr() {
+        assertEquals(1, evaluate("1 + 2 > 2"));
+        assertEquals(1, evaluate("1 || 0 && 0"));
+        assertEquals(0, evaluate("(1 || 0) && 0"));
+        assertEquals(1, evaluate("a * 2 >= b + 3 && a != b", 5, 7));
+        assertEquals(0, evaluate("a * 2 >= b + 3 && a != b", 4, 7));
+    }
+
+    @Test
+    void functionsVariablesAndNumberSeparators() {
+        assertEquals(3, evaluate("min(a, b)", 3, 8));
+        assertEquals(8, evaluate("max(a, b)", 3, 8));
+        assertEquals(4, evaluate("ceilDiv(a, 2)", 7, 0));
+        assertEquals(1_000_001, evaluate("1_000_000 + a", 1, 0));
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertRejected("c + 1", "Unknown variable c");
+        assertRejected("foo(1)", "Unknown function foo");
+        assertRejected("(1 + 2", "Expected ')'");
+        assertRejected("min(1 2)", "Expected ','");
+        assertRejected("1 +", "Expected number, variable or '('");
+        assertRejected("1 2", "Unexpected input");
+        assertRejected("1 < 2 < 3", "Unexpected input");
+        assertRejected("99999999999999999999", "Invalid number");
+    }
+
+    @Test
+    void errorsReportThePositionAndSource() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("a + c", VARIABLES));
+        assertEquals("Unknown variable c at position 5 in rule: a + c", e.getMessage());
+    }
+
+    @Test
+    void rejectsMissingSourceOrVariables() {
+        assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile(null, VARIABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("  ", VARIABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("1", null));
+    }
+
+    @Test
+    void arithmeticErrorsSurfaceAtEvaluation() {
+        RuleExpression rule = RuleCompiler.compile("a / b", VARIABLES);
+        assertThrows(ArithmeticException.class, () -> rule.evaluate(new long[]{1, 0}));
+        assertThrows(ArithmeticException.class, () -> evaluate("a * 2", Long.MAX_VALUE, 0));
+    }
+}
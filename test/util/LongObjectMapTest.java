@@ -0,0 +1,120 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LongObjectMapTest {
+    private static final int CAPACITY = 16;
+
+    private static int home(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (CAPACITY - 1);
+    }
+
+    private static List<Long> keysWithHome(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; keys.size() < count; key++) {
+            if (home(key) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    void removingTheHeadOfAClusterKeepsTheRestReachable() {
+        List<Long> keys = keysWithHome(3, 4);
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long key : keys) {
+            map.put(key, "v" + key);
+        }
+
+        assertEquals("v" + keys.get(0), map.remove(keys.get(0)));
+        assertNull(map.get(keys.get(0)));
+        assertEquals(3, map.size());
+        for (long key : keys.subList(1, keys.size())) {
+            assertEquals("v" + key, map.get(key));
+        }
+    }
+
+    @Test
+    void removingFromTheMiddleOfAClusterKeepsTheRestReachable() {
+        List<Long> keys = keysWithHome(7, 5);
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long key : keys) {
+            map.put(key, "v" + key);
+        }
+
+        map.remove(keys.get(2));
+        map.remove(keys.get(1));
+        assertFalse(map.containsKey(keys.get(1)));
+        assertFalse(map.containsKey(keys.get(2)));
+        assertEquals("v" + keys.get(0), map.get(keys.get(0)));
+        assertEquals("v" + keys.get(3), map.get(keys.get(3)));
+        assertEquals("v" + keys.get(4), map.get(keys.get(4)));
+    }
+
+    @Test
+    void shiftBackWrapsAroundTheEndOfTheTable() {
+        List<Long> wrapping = keysWithHome(CAPACITY - 1, 3);
+        long displaced = keysWithHome(0, 1).get(0);
+        long settled = keysWithHome(2, 1).get(0);
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(settled, "settled");
+        for (long key : wrapping) {
+            map.put(key, "v" + key);
+        }
+        map.put(displaced, "displaced");
+
+        map.remove(wrapping.get(0));
+        assertEquals("v" + wrapping.get(1), map.get(wrapping.get(1)));
+        assertEquals("v" + wrapping.get(2), map.get(wrapping.get(2)));
+        assertEquals("displaced", map.get(displaced));
+        assertEquals("settled", map.get(settled));
+
+        map.remove(displaced);
+        map.remove(wrapping.get(1));
+        assertEquals("v" + wrapping.get(2), map.get(wrapping.get(2)));
+        assertEquals("settled", map.get(settled));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removedKeysCanBeInsertedAgain() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.remove(42));
+        map.put(42, "a");
+        map.remove(42);
+        assertNull(map.put(42, "b"));
+        assertEquals("b", map.get(42));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        SplittableRandom random = new SplittableRandom(7);
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextLong(512);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = 0; key < 512; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}